@@ -0,0 +1,33 @@
+package com.epam.AsyncDataPipeline.benchmark;
+
+import com.epam.AsyncDataPipeline.dto.TaskManagementResponse;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+
+/**
+ * Task fixtures shared by the benchmarks, with payloads that fit the default 255 character payload column.
+ */
+final class BenchmarkTasks {
+
+    static final String PAYLOAD = "{\"source\":\"benchmark\",\"records\":[" + "1,".repeat(80) + "1]}";
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkTasks() {
+    }
+
+    static TaskManagement task(long id) {
+        TaskManagement task = new TaskManagement("Task " + id, PAYLOAD, STATUSES[(int) (id % STATUSES.length)]);
+        task.setId(id);
+        return task;
+    }
+
+    static TaskManagementResponse response(long id) {
+        TaskManagementResponse response = new TaskManagementResponse();
+        response.setId(id);
+        response.setName("Task " + id);
+        response.setPayload(PAYLOAD);
+        response.setStatus(STATUSES[(int) (id % STATUSES.length)]);
+        return response;
+    }
+}
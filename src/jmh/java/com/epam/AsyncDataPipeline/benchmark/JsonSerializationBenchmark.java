@@ -0,0 +1,48 @@
+package com.epam.AsyncDataPipeline.benchmark;
+
+import com.epam.AsyncDataPipeline.dto.TaskManagementResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the JSON serialization of task responses with an object mapper configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectWriter objectWriter;
+
+    private TaskManagementResponse response;
+
+    private List<TaskManagementResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectWriter = Jackson2ObjectMapperBuilder.json().build().writer();
+        response = BenchmarkTasks.response(1L);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(BenchmarkTasks.response(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(page);
+    }
+}
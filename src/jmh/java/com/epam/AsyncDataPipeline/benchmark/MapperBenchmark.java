@@ -0,0 +1,53 @@
+package com.epam.AsyncDataPipeline.benchmark;
+
+import com.epam.AsyncDataPipeline.dto.TaskManagementResponse;
+import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.mapper.EntityToModelMapper;
+import com.epam.AsyncDataPipeline.mapper.EntityToModelMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the MapStruct mappings from task entities to the response DTOs.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final EntityToModelMapper entityToModelMapper = new EntityToModelMapperImpl();
+
+    private TaskManagement task;
+
+    private List<TaskManagement> page;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkTasks.task(1L);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(BenchmarkTasks.task(id));
+        }
+    }
+
+    @Benchmark
+    public TaskManagementResponse mapEntityToDto() {
+        return entityToModelMapper.mapEntityToDto(task);
+    }
+
+    @Benchmark
+    public TaskManagementStatusResponse mapEntityToStatusDto() {
+        return entityToModelMapper.mapEntityToStatusDto(task);
+    }
+
+    @Benchmark
+    public List<TaskManagementResponse> mapEntityToDtoList() {
+        return entityToModelMapper.mapEntityToDtoList(page);
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.AsyncDataPipeline.benchmark;
+
+import com.epam.AsyncDataPipeline.AsyncDataPipelineApplication;
+import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
+import com.epam.AsyncDataPipeline.dto.TaskStatisticsResponse;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatisticsEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the service read paths inside the application context, backed by the in-memory H2
+ * datasource of the test configuration. No Kafka listener, relay or cache sync is started.
+ */
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskManagementService taskManagementService;
+
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    private Long cachedTaskId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AsyncDataPipelineApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "task.consumer.mode=none",
+                        "task.outbox.relay.enabled=false",
+                        "task.cache.sync.enabled=false",
+                        "task.statistics.reconcile-interval-ms=3600000",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.epam=WARN")
+                .run();
+        taskManagementService = context.getBean(TaskManagementService.class);
+        taskStatisticsEngine = context.getBean(TaskStatisticsEngine.class);
+
+        TaskManagementRepository taskManagementRepository = context.getBean(TaskManagementRepository.class);
+        List<TaskManagement> tasks = new ArrayList<>(SEEDED_TASKS);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int index = 0; index < SEEDED_TASKS; index++) {
+            tasks.add(new TaskManagement("Task " + index, BenchmarkTasks.PAYLOAD, statuses[index % statuses.length]));
+        }
+        cachedTaskId = taskManagementRepository.saveAll(tasks).get(0).getId();
+        taskStatisticsEngine.reconcile();
+        taskManagementService.getTaskStatusById(cachedTaskId); // every measured lookup is a cache hit
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskManagementStatusResponse getTaskStatusById_CacheHit() {
+        return taskManagementService.getTaskStatusById(cachedTaskId);
+    }
+
+    @Benchmark
+    public TaskStatisticsResponse getTaskStatistics() {
+        return taskManagementService.getTaskStatistics();
+    }
+
+    @Benchmark
+    public long reconcileStatistics() {
+        taskStatisticsEngine.reconcile(); // GROUP BY status over the seeded tasks
+        return taskStatisticsEngine.getCount(TaskStatus.COMPLETED);
+    }
+}
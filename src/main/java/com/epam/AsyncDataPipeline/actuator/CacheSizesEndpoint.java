@@ -0,0 +1,83 @@
+package com.epam.AsyncDataPipeline.actuator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint ({@code /actuator/cachesizes}) showing how full every Caffeine cache is,
+ * so cache sizes can be tuned against heap usage without a heap dump.
+ */
+@Component
+@Endpoint(id = "cachesizes")
+public class CacheSizesEndpoint {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, CacheSize> cacheSizes() {
+        Map<String, CacheSize> cacheSizes = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheSize cacheSize = cacheSize(cacheName);
+            if (cacheSize != null) {
+                cacheSizes.put(cacheName, cacheSize);
+            }
+        }
+        return cacheSizes;
+    }
+
+    @ReadOperation
+    public CacheSize cacheSize(@Selector String cacheName) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof Cache<?, ?> nativeCache)) {
+            return null; // answered with 404
+        }
+        Long maximumSize = nativeCache.policy().eviction().map(Policy.Eviction::getMaximum).orElse(null);
+        CacheStats stats = nativeCache.stats();
+        return new CacheSize(nativeCache.estimatedSize(), maximumSize, stats.hitRate(), stats.evictionCount());
+    }
+
+    /**
+     * Live size of one cache.
+     */
+    public static class CacheSize {
+
+        private final long estimatedSize;
+        private final Long maximumSize;
+        private final double hitRate;
+        private final long evictionCount;
+
+        public CacheSize(long estimatedSize, Long maximumSize, double hitRate, long evictionCount) {
+            this.estimatedSize = estimatedSize;
+            this.maximumSize = maximumSize;
+            this.hitRate = hitRate;
+            this.evictionCount = evictionCount;
+        }
+
+        public long getEstimatedSize() {
+            return estimatedSize;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public double getHitRate() {
+            return hitRate;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+    }
+}
@@ -1,35 +1,27 @@
 package com.epam.AsyncDataPipeline.config;
 
-import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Configuration class for setting up Caffeine Cache in a Spring Boot application.
- * This class enables caching support and defines a Caffeine-based cache manager
- * with specific configurations, such as expiration policies and statistics tracking.
+ * This class enables caching support and defines a Caffeine-based cache manager.
+ * Sizes and expiry come from {@link TaskCacheProperties}; caches created on demand use its
+ * defaults, and the task status caches are registered by TaskStatusCache with their own specs.
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(TaskCacheProperties.class)
 public class CaffeineCacheConfig {
 
 
     @Bean
-    public CaffeineCacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TaskManagementConstants.APP_NAME);
-        cacheManager.setCaffeine(caffeineConfig());
+    public CaffeineCacheManager cacheManager(TaskCacheProperties taskCacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(TaskCacheProperties.newBuilder(taskCacheProperties.getDefaults()));
         return cacheManager;
     }
-
-    @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(TaskManagementConstants.CACHE_DURATION, TimeUnit.MINUTES) // Expire entries after 5 min
-                .recordStats();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.epam.AsyncDataPipeline.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration class for the cache sync channel between application nodes.
+ * Status updates are broadcast on a compacted topic keyed by task ID, so the topic keeps only the
+ * latest status of each task and an eviction is a tombstone. Every node reads all partitions of the
+ * topic without a consumer group and from their end, the consumer never commits an offset.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.cache.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaConfigCacheSync {
+
+    public static final String CACHE_SYNC_LISTENER_CONTAINER_FACTORY = "cacheSyncListenerContainerFactory";
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${task.cache.sync.topic:taskManagementCacheSync}")
+    private String topicName;
+
+    @Value("${task.cache.sync.partitions:3}")
+    private int partitions;
+
+    @Bean
+    public NewTopic cacheSyncTopic() {
+        return TopicBuilder.name(topicName)
+                .partitions(partitions)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> cacheSyncKafkaTemplate() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "1");  // a lost update only costs a cache entry until it expires
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
+    @Bean
+    public ConsumerFactory<String, String> cacheSyncConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean(CACHE_SYNC_LISTENER_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> cacheSyncListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cacheSyncConsumerFactory());
+        return factory;
+    }
+}
@@ -1,20 +1,39 @@
 
 package com.epam.AsyncDataPipeline.config;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.kakfaConsumer.TaskPartitionRebalanceListener;
+import com.epam.AsyncDataPipeline.serializer.TaskMessageDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
 /**
  * Configuration class for setting up Kafka consumer in a Spring Boot application.
  * This class configures the Kafka consumer factory and Kafka listener container factory
- * for processing messages asynchronously.
+ * for processing messages asynchronously. Task messages are read with the binary
+ * {@link TaskMessageDeserializer}, wrapped in an {@link ErrorHandlingDeserializer} so a
+ * malformed record is reported to the error handler instead of blocking the partition.
+ * <p>
+ * The task topic is declared with {@code task.consumer.partitions} partitions, and every node runs
+ * {@code task.consumer.concurrency} consumers, one per partition it can own. Consumption scales by adding
+ * partitions and nodes: partitions divided by nodes is the concurrency each node needs, consumers beyond
+ * that stay idle. Partitions are spread with the cooperative sticky assignor so a node joining or leaving
+ * does not stop the whole group, and the consumers' own metrics (lag, fetch rate) are bound to Micrometer.
  */
+@Configuration
 public class KafkaConfigConsumer {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -22,21 +41,51 @@ public class KafkaConfigConsumer {
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
+
+    @Value("${spring.kafka.topic.name}")
+    private String topicName;
+
+    @Value("${task.consumer.partitions:6}")
+    private int partitions;
+
+    @Value("${task.consumer.replicas:1}")
+    private short replicas;
+
+    @Value("${task.consumer.concurrency:${task.consumer.partitions:6}}")
+    private int concurrency;
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public NewTopic taskTopic() {
+        return TopicBuilder.name(topicName)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public ConsumerFactory<String, TaskMessage> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, TaskMessageDeserializer.class);
+        configProps.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+
+        DefaultKafkaConsumerFactory<String, TaskMessage> consumerFactory = new DefaultKafkaConsumerFactory<>(configProps);
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+    public ConcurrentKafkaListenerContainerFactory<String, TaskMessage> kafkaListenerContainerFactory(
+            ConsumerFactory<String, TaskMessage> consumerFactory, TaskPartitionRebalanceListener rebalanceListener) {
+        ConcurrentKafkaListenerContainerFactory<String, TaskMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setConsumerRebalanceListener(rebalanceListener);
+        // Records already fetched are not handed out once flow control pauses the container, they are fetched again on resume
+        factory.getContainerProperties().setPauseImmediate(true);
         return factory;
     }
 }
-
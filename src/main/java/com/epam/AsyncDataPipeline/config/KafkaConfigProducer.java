@@ -1,11 +1,16 @@
 package com.epam.AsyncDataPipeline.config;
 
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.serializer.TaskMessageSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
@@ -14,24 +19,59 @@ import java.util.Map;
 /**
  * Configuration class for setting up Kafka producer in a Spring Boot application.
  * This class defines the Kafka producer factory and Kafka template for sending messages
- * to Kafka topics. It ensures that the producer is properly configured with essential
- * properties such as bootstrap servers and serializers.
+ * to Kafka topics. Task messages are written with the binary {@link TaskMessageSerializer}.
+ * Besides bootstrap servers and serializers, it applies the batching,
+ * compression and delivery guarantees configured under {@code task.producer}, and binds
+ * the producer's own metrics (batch size, buffer usage, request latency) to Micrometer.
  */
+@Configuration
 public class KafkaConfigProducer {
 
    @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
+
+    @Value("${task.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${task.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${task.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${task.producer.acks:all}")
+    private String acks;
+
+    @Value("${task.producer.enable-idempotence:true}")
+    private boolean enableIdempotence;
+
+    @Value("${task.producer.buffer-memory:33554432}")
+    private long bufferMemory;
+
+    @Value("${task.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, TaskMessage> producerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, TaskMessageSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
+        DefaultKafkaProducerFactory<String, TaskMessage> producerFactory = new DefaultKafkaProducerFactory<>(configProps);
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, TaskMessage> kafkaTemplate(ProducerFactory<String, TaskMessage> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 }
@@ -0,0 +1,96 @@
+package com.epam.AsyncDataPipeline.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry of every Caffeine cache, bound from {@code task.cache}.
+ * This is the only place caches are sized: {@code specs} holds one entry per cache name and
+ * {@code defaults} applies to any cache without its own entry.
+ */
+@ConfigurationProperties(prefix = "task.cache")
+public class TaskCacheProperties {
+
+    private CacheSpec defaults = new CacheSpec();
+
+    private Map<String, CacheSpec> specs = new HashMap<>();
+
+    public CacheSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(CacheSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, CacheSpec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, CacheSpec> specs) {
+        this.specs = specs;
+    }
+
+    public CacheSpec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    /**
+     * Creates a Caffeine builder with the size, expiry and statistics settings of the given cache.
+     *
+     * @param cacheName The cache name, as registered with the cache manager.
+     */
+    public Caffeine<Object, Object> newBuilder(String cacheName) {
+        return newBuilder(getSpec(cacheName));
+    }
+
+    public static Caffeine<Object, Object> newBuilder(CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+
+    public static class CacheSpec {
+
+        private long maximumSize = 1000;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+        private Duration expireAfterAccess;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.epam.AsyncDataPipeline.config;
+
+import com.epam.AsyncDataPipeline.enums.ExecutorMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the executors used by the asynchronous submit and consume paths.
+ * Each stage gets its own named executor so blocking JPA and Kafka I/O never runs on
+ * the shared ForkJoinPool.commonPool(). In PLATFORM mode every executor is a bounded
+ * thread pool; in VIRTUAL mode (Java 21+) every task runs on its own virtual thread.
+ * Queue depth and active count of every executor are published through Micrometer.
+ * Task handlers run on their own pools, created per handler type from {@link TaskHandlerProperties}.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskHandlerProperties.class)
+public class TaskExecutorConfig {
+
+    public static final String SUBMISSION_EXECUTOR = "taskSubmissionExecutor";
+    public static final String STATUS_UPDATE_EXECUTOR = "taskStatusUpdateExecutor";
+    public static final String STATUS_EVENT_EXECUTOR = "taskStatusEventExecutor";
+    public static final String HANDLER_EXECUTOR_PREFIX = "task-handler-";
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutorConfig.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${task.executor.mode:PLATFORM}")
+    private ExecutorMode executorMode;
+
+    @Value("${task.executor.submission.core-size:8}")
+    private int submissionCoreSize;
+    @Value("${task.executor.submission.max-size:16}")
+    private int submissionMaxSize;
+    @Value("${task.executor.submission.queue-capacity:1000}")
+    private int submissionQueueCapacity;
+
+    @Value("${task.executor.status-update.core-size:8}")
+    private int statusUpdateCoreSize;
+    @Value("${task.executor.status-update.max-size:16}")
+    private int statusUpdateMaxSize;
+    @Value("${task.executor.status-update.queue-capacity:1000}")
+    private int statusUpdateQueueCapacity;
+
+    @Value("${task.executor.status-event.core-size:4}")
+    private int statusEventCoreSize;
+    @Value("${task.executor.status-event.max-size:8}")
+    private int statusEventMaxSize;
+    @Value("${task.executor.status-event.queue-capacity:10000}")
+    private int statusEventQueueCapacity;
+
+    @Bean(name = SUBMISSION_EXECUTOR)
+    public Executor taskSubmissionExecutor() {
+        return createExecutor("task-submission", submissionCoreSize, submissionMaxSize, submissionQueueCapacity);
+    }
+
+    @Bean(name = STATUS_UPDATE_EXECUTOR)
+    public Executor taskStatusUpdateExecutor() {
+        return createExecutor("task-status-update", statusUpdateCoreSize, statusUpdateMaxSize, statusUpdateQueueCapacity);
+    }
+
+    @Bean(name = STATUS_EVENT_EXECUTOR)
+    public Executor taskStatusEventExecutor() {
+        return createExecutor("task-status-event", statusEventCoreSize, statusEventMaxSize, statusEventQueueCapacity);
+    }
+
+    /**
+     * Creates the pool of a task handler. It is a bounded platform pool in both executor modes: its threads
+     * are the concurrency limit of the handler and a full queue rejects the task, a virtual thread per task
+     * would bound neither.
+     */
+    public Executor createHandlerExecutor(String handlerType, TaskHandlerProperties.BulkheadSpec spec) {
+        String name = HANDLER_EXECUTOR_PREFIX + handlerType;
+        logger.info("Creating handler executor {} with concurrency={}, queueCapacity={}",
+                name, spec.getConcurrency(), spec.getQueueCapacity());
+        return createPlatformExecutor(name, spec.getConcurrency(), spec.getConcurrency(), spec.getQueueCapacity());
+    }
+
+    private Executor createExecutor(String name, int coreSize, int maxSize, int queueCapacity) {
+        if (executorMode == ExecutorMode.VIRTUAL) {
+            if (Runtime.version().feature() >= VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+                logger.info("Creating virtual thread executor {}", name);
+                return createVirtualExecutor(name);
+            }
+            logger.warn("Virtual threads need Java {}+, running on Java {}. Falling back to a platform pool for {}",
+                    VIRTUAL_THREADS_MIN_JAVA_VERSION, Runtime.version().feature(), name);
+        }
+        logger.info("Creating platform executor {} with coreSize={}, maxSize={}, queueCapacity={}",
+                name, coreSize, maxSize, queueCapacity);
+        return createPlatformExecutor(name, coreSize, maxSize, queueCapacity);
+    }
+
+    /**
+     * Bounded pool that rejects work once the queue is full, so a saturated stage pushes back
+     * on its callers instead of buffering without limit.
+     */
+    private Executor createPlatformExecutor(String name, int coreSize, int maxSize, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(coreSize, maxSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(name + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Registers executor.active, executor.queued, executor.pool.size and task timings tagged with the name
+        return ExecutorServiceMetrics.monitor(registry, executor, name);
+    }
+
+    private Executor createVirtualExecutor(String name) {
+        VirtualThreadTaskExecutor virtualExecutor = new VirtualThreadTaskExecutor(name + "-");
+        AtomicInteger activeTasks = new AtomicInteger();
+        Executor executor = task -> {
+            activeTasks.incrementAndGet();
+            try {
+                virtualExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        activeTasks.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException exception) {
+                activeTasks.decrementAndGet();
+                throw exception;
+            }
+        };
+
+        // Same meter names as ExecutorServiceMetrics, virtual threads never queue
+        Gauge.builder("executor.active", activeTasks, AtomicInteger::get)
+                .tag("name", name)
+                .description("The approximate number of threads that are actively executing tasks")
+                .register(registry);
+        Gauge.builder("executor.queued", () -> 0)
+                .tag("name", name)
+                .description("The approximate number of tasks that are queued for execution")
+                .register(registry);
+        return executor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.AsyncDataPipeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size of the worker pool of every task handler, bound from {@code task.handlers}.
+ * {@code specs} holds one entry per handler type and {@code defaults} applies to any handler
+ * without its own entry.
+ */
+@ConfigurationProperties(prefix = "task.handlers")
+public class TaskHandlerProperties {
+
+    private BulkheadSpec defaults = new BulkheadSpec();
+
+    private Map<String, BulkheadSpec> specs = new HashMap<>();
+
+    // Pause before a task turned away by a full handler queue is offered again
+    private long rejectedRetryDelayMs = 100;
+
+    public BulkheadSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(BulkheadSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, BulkheadSpec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, BulkheadSpec> specs) {
+        this.specs = specs;
+    }
+
+    public long getRejectedRetryDelayMs() {
+        return rejectedRetryDelayMs;
+    }
+
+    public void setRejectedRetryDelayMs(long rejectedRetryDelayMs) {
+        this.rejectedRetryDelayMs = rejectedRetryDelayMs;
+    }
+
+    public BulkheadSpec getSpec(String handlerType) {
+        return specs.getOrDefault(handlerType, defaults);
+    }
+
+    public static class BulkheadSpec {
+
+        // Tasks of the handler running at once, the threads of its pool
+        private int concurrency = 16;
+
+        // Tasks waiting for a thread, beyond this they wait to be offered again
+        private int queueCapacity = 1000;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
@@ -5,10 +5,30 @@ public class TaskManagementConstants {
     public static final Long DEFAULT_COUNT = 0L;
     public static final double PERCENTAGE_MULTIPLIER = 100.0;
 
-    public static final int THREAD_DELAY_MS = 10000;
+    public static final String APP_NAME="taskManagement";
 
-    public static final long CACHE_DURATION=5;
+    public static final String NOT_FOUND_CACHE_NAME = "taskManagementNotFound";
 
-    public static final String APP_NAME="taskManagement";
+    public static final String CACHE_SYNC_NODE_HEADER = "task-cache-node";
+
+    public static final String TASK_LISTENER_ID = "taskConsumer";
+
+    public static final String DEFAULT_TASK_HANDLER_TYPE = "default";
+
+    public static final char TASK_TYPE_SEPARATOR = ':';
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final long KAFKA_SEND_TIMEOUT_SECONDS = 30;
+
+    public static final String TASK_CREATION_MESSAGE = "Task Management Initiation Started";
+
+    public static final String EXPORT_FETCH_SIZE = "500";
+
+    public static final int EXPORT_FLUSH_INTERVAL = 500;
 
 }
\ No newline at end of file
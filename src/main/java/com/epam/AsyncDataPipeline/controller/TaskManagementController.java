@@ -1,23 +1,36 @@
 package com.epam.AsyncDataPipeline.controller;
 
 
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
 import com.epam.AsyncDataPipeline.dto.*;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
 import com.epam.AsyncDataPipeline.exception.InvalidSortDirectionException;
 import com.epam.AsyncDataPipeline.service.TaskManagementService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.epam.AsyncDataPipeline.service.impl.TaskAdmissionController;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -34,21 +47,71 @@ public class TaskManagementController {
     @Autowired
     private TaskManagementService taskManagementService;
 
+    @Autowired
+    private TaskStatusStreamService taskStatusStreamService;
+
+    @Autowired
+    private TaskAdmissionController taskAdmissionController;
+
+    @Value("${task.submit.timeout-ms:30000}")
+    private long submitTimeoutMs;
+
 
     @PostMapping
     @Operation(summary = "Submit a new task", description = "Creates a new task and submits it for asynchronous processing.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task submitted successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @ApiResponse(responseCode = "500", description = "Internal server error while task processing")
+            @ApiResponse(responseCode = "429", description = "Submissions are being shed or task dispatch is behind, retry after the Retry-After header"),
+            @ApiResponse(responseCode = "500", description = "Internal server error while task processing"),
+            @ApiResponse(responseCode = "503", description = "Task submission timed out or the service is saturated")
     })
-    @RateLimiter(name = "submitTaskRateLimiter")
-    public ResponseEntity<TaskCreationResponse> submitTask(@RequestBody @Valid TaskManagementRequest taskManagement) {
+    public CompletableFuture<ResponseEntity<TaskCreationResponse>> submitTask(@RequestBody @Valid TaskManagementRequest taskManagement) {
         logger.info("Received request to create a task with name: {}", taskManagement.getName());
 
-        TaskCreationResponse response = taskManagementService.submitTask(taskManagement).join();
+        taskAdmissionController.acquire();
+        long startNanos = System.nanoTime();
+        CompletableFuture<TaskCreationResponse> submission;
+        try {
+            submission = taskManagementService.submitTask(taskManagement);
+        } catch (RuntimeException exception) {
+            taskAdmissionController.release(System.nanoTime() - startNanos, false);
+            throw exception;
+        }
 
-        logger.info("Task submitted for processing: {}", taskManagement.getName());
+        // The servlet thread is released here, the response is written when the future completes
+        return submission
+                .orTimeout(submitTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((response, exception) -> taskAdmissionController.release(System.nanoTime() - startNanos, exception == null))
+                .thenApply(response -> {
+                    logger.info("Task submitted for processing: {}", taskManagement.getName());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Submit a batch of tasks", description = "Creates up to 1000 tasks in one request and submits them for asynchronous processing. "
+            + "The batch is accepted or rejected as a whole.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Batch accepted, one result per task"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "429", description = "Submissions are being shed or task dispatch is behind, retry after the Retry-After header")
+    })
+    public ResponseEntity<TaskBatchSubmissionResponse> submitTasks(@RequestBody @Valid TaskBatchRequest taskBatchRequest) {
+        logger.info("Received request to create a batch of {} tasks", taskBatchRequest.getTasks().size());
+
+        taskAdmissionController.acquire();
+        long startNanos = System.nanoTime();
+        boolean succeeded = false;
+        TaskBatchSubmissionResponse response;
+        try {
+            response = taskManagementService.submitTasks(taskBatchRequest.getTasks());
+            succeeded = true;
+        } finally {
+            taskAdmissionController.release(System.nanoTime() - startNanos, succeeded);
+        }
+
+        logger.info("Batch submitted for processing: {} tasks", response.getSubmittedTasks());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -62,8 +125,9 @@ public class TaskManagementController {
             @ApiResponse(responseCode = "400", description = "Invalid request data")
     })
     public ResponseEntity<List<TaskManagementResponse>> getAllTasks(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative") int page,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least {value}")
+            @Max(value = TaskManagementConstants.MAX_PAGE_SIZE, message = "Size must be at most {value}") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
@@ -85,6 +149,55 @@ public class TaskManagementController {
         return ResponseEntity.ok(taskList);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get tasks with cursor pagination",
+            description = "Fetches a sorted list of tasks after the given cursor. Pass the returned nextCursor as 'after' to read the next page; "
+                    + "the cursor carries its own sort order. Supported sort fields: id, name, status.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or request data")
+    })
+    public ResponseEntity<TaskCursorPageResponse> getTasksAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Size must be at least {value}")
+            @Max(value = TaskManagementConstants.MAX_PAGE_SIZE, message = "Size must be at most {value}") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.info("Received request to fetch tasks after cursor={}, size={}, sortBy={}, sortDir={}",
+                after, size, sortBy, sortDir);
+
+        Sort.Direction direction;
+        try {
+            direction = Sort.Direction.fromString(sortDir);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSortDirectionException(sortDir);
+        }
+
+        return ResponseEntity.ok(taskManagementService.getTasksAfter(after, size, new Sort.Order(direction, sortBy)));
+    }
+
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export tasks as NDJSON",
+            description = "Streams all matching tasks in id order as newline-delimited JSON, optionally filtered by status and an inclusive id range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long fromId,
+            @RequestParam(required = false) Long toId) {
+
+        logger.info("Received request to export tasks with status={}, fromId={}, toId={}", status, fromId, toId);
+
+        StreamingResponseBody responseBody = outputStream -> taskManagementService.exportTasks(status, fromId, toId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
 
     @GetMapping("/status/{id}")
     @Operation(summary = "Get status response by ID", description = "Fetches the status details of a specific task by its ID.")
@@ -102,6 +215,52 @@ public class TaskManagementController {
     }
 
 
+    @GetMapping(value = "/status/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status transitions by ID", description = "Server-Sent Events stream of 'status' events: the current status of the task, "
+            + "then every transition. The stream completes once the task is COMPLETED.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status stream opened"),
+            @ApiResponse(responseCode = "404", description = "Status not found for the id")
+    })
+    public SseEmitter streamTaskStatus(@PathVariable Long id) {
+
+        logger.info("Received request to stream status of a task with ID: {}", id);
+
+        return taskStatusStreamService.streamStatus(id);
+    }
+
+    @GetMapping("/status/{id}/poll")
+    @Operation(summary = "Long-poll status by ID", description = "Answers as soon as the status of the task differs from knownStatus, "
+            + "or with the unchanged status once timeoutMs (at most 60s) elapsed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status changed or wait timed out"),
+            @ApiResponse(responseCode = "400", description = "timeoutMs is not positive"),
+            @ApiResponse(responseCode = "404", description = "Status not found for the id")
+    })
+    public DeferredResult<TaskManagementStatusResponse> pollTaskStatus(
+            @PathVariable Long id,
+            @RequestParam(required = false) TaskStatus knownStatus,
+            @RequestParam(defaultValue = "30000") @Positive(message = "Timeout must be positive") long timeoutMs) {
+
+        logger.info("Received request to wait for a status change of task ID: {} from {}", id, knownStatus);
+
+        return taskStatusStreamService.awaitStatusChange(id, knownStatus, timeoutMs);
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Get status responses by IDs", description = "Fetches the status of up to 1000 tasks in one request, e.g. ?ids=1,2,3. "
+            + "Cached statuses are served from the cache and all others are read with a single query.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses found, unknown IDs are listed in notFoundIds"),
+            @ApiResponse(responseCode = "400", description = "No IDs or more than 1000 IDs requested")
+    })
+    public ResponseEntity<TaskStatusBatchResponse> getTaskStatuses(@RequestParam List<Long> ids) {
+
+        logger.info("Received request to fetch status of {} tasks", ids.size());
+
+        return ResponseEntity.ok(taskManagementService.getTaskStatusesByIds(ids));
+    }
+
 
     @GetMapping("/statistics")
     @Operation(summary = "Get task statistics", description = "Retrieves aggregated task statistics.")
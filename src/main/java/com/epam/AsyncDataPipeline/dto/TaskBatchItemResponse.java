@@ -0,0 +1,60 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+
+public class TaskBatchItemResponse {
+
+    private int index;
+    private Long id;
+    private String name;
+    private TaskStatus status;
+    private String message;
+
+    public TaskBatchItemResponse(int index, Long id, String name, TaskStatus status, String message) {
+        this.index = index;
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TaskBatchRequest {
+
+    @NotEmpty(message = "Tasks cannot be empty")
+    @Size(max = TaskManagementConstants.MAX_BATCH_SIZE, message = "A batch can contain at most {max} tasks")
+    private List<@Valid TaskManagementRequest> tasks;
+
+    public List<TaskManagementRequest> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskManagementRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
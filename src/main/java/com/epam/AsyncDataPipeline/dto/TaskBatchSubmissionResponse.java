@@ -0,0 +1,30 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import java.util.List;
+
+public class TaskBatchSubmissionResponse {
+
+    private long submittedTasks;
+    private List<TaskBatchItemResponse> results;
+
+    public TaskBatchSubmissionResponse(long submittedTasks, List<TaskBatchItemResponse> results) {
+        this.submittedTasks = submittedTasks;
+        this.results = results;
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks;
+    }
+
+    public void setSubmittedTasks(long submittedTasks) {
+        this.submittedTasks = submittedTasks;
+    }
+
+    public List<TaskBatchItemResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TaskBatchItemResponse> results) {
+        this.results = results;
+    }
+}
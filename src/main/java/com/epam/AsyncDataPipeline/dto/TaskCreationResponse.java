@@ -2,6 +2,8 @@ package com.epam.AsyncDataPipeline.dto;
 
 public class TaskCreationResponse {
 
+    private Long id;
+
     private String name;
 
     private String creationMessage;
@@ -11,6 +13,20 @@ public class TaskCreationResponse {
         this.creationMessage=creationMessage;
     }
 
+    public TaskCreationResponse(Long id, String name, String creationMessage) {
+        this.id=id;
+        this.name=name;
+        this.creationMessage=creationMessage;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,40 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import java.util.List;
+
+public class TaskCursorPageResponse {
+
+    private List<TaskManagementResponse> tasks;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public TaskCursorPageResponse(List<TaskManagementResponse> tasks, String nextCursor, boolean hasNext) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<TaskManagementResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskManagementResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
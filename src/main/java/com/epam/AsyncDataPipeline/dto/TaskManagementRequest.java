@@ -1,14 +1,21 @@
 package com.epam.AsyncDataPipeline.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+
 public class TaskManagementRequest {
 
 
     @NotBlank(message = "Name cannot be blank")
-    @Pattern(regexp = "^[a-zA-Z ]+$", message = "Name must contain only letters (A-Z, a-z) and spaces")
+    // An optional "type:" prefix routes the task to the handler of that type, see TaskHandler
+    @Pattern(regexp = "^([a-zA-Z]+:)?[a-zA-Z ]+$",
+            message = "Name must contain only letters (A-Z, a-z) and spaces, optionally after a task type and ':' (e.g. report:weekly)")
     @Size(max = 50, message = "Name must be at most 50 characters")
     private String name;
 
@@ -16,6 +23,12 @@ public class TaskManagementRequest {
     @Size(max = 255, message = "Payload must be at most 255 characters")
     private String payload;
 
+    // Optional, a task with a future due time is SCHEDULED and only released to processing when it is due
+    private Instant runAt;
+
+    @PositiveOrZero(message = "Delay must not be negative")
+    private Long delayMs;
+
     public String getName() {
         return name;
     }
@@ -32,5 +45,37 @@ public class TaskManagementRequest {
         this.payload = payload;
     }
 
+    public Instant getRunAt() {
+        return runAt;
+    }
+
+    public void setRunAt(Instant runAt) {
+        this.runAt = runAt;
+    }
+
+    public Long getDelayMs() {
+        return delayMs;
+    }
+
+    public void setDelayMs(Long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Only one of runAt and delayMs can be set")
+    public boolean isScheduleUnambiguous() {
+        return runAt == null || delayMs == null;
+    }
+
+    /**
+     * @return When the task is due, or null when it should run right away.
+     */
+    public Instant resolveDueAt(Instant now) {
+        if (runAt != null) {
+            return runAt;
+        }
+        return delayMs != null ? now.plusMillis(delayMs) : null;
+    }
+
 
 }
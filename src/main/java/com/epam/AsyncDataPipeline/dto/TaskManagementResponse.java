@@ -2,12 +2,18 @@ package com.epam.AsyncDataPipeline.dto;
 
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
 
+import java.time.Instant;
+
 public class TaskManagementResponse {
 
     private Long id;
     private String name;
     private String payload;
     private TaskStatus status;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant dueAt;
 
 
     public Long getId() {
@@ -41,4 +47,36 @@ public class TaskManagementResponse {
     public void setStatus(TaskStatus status) {
         this.status = status;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
 }
@@ -0,0 +1,98 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Message published to the task topic for every dispatched task.
+ * It carries everything a consumer needs to process the task, so no database read is required.
+ * Payloads larger than the inline limit are sent by reference: the payload stays in the task row
+ * and is identified by the task ID. The creation time lets consumers measure how long the task was queued.
+ */
+public class TaskMessage {
+
+    private Long id;
+    private String name;
+    private TaskStatus status;
+    private String payload;
+    private boolean payloadByReference;
+    private Instant createdAt;
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public boolean isPayloadByReference() {
+        return payloadByReference;
+    }
+
+    public void setPayloadByReference(boolean payloadByReference) {
+        this.payloadByReference = payloadByReference;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public TaskMessage(Long id, String name, TaskStatus status, String payload, boolean payloadByReference) {
+        this(id, name, status, payload, payloadByReference, null);
+    }
+
+    public TaskMessage(Long id, String name, TaskStatus status, String payload, boolean payloadByReference, Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.payload = payload;
+        this.payloadByReference = payloadByReference;
+        this.createdAt = createdAt;
+    }
+
+    public TaskMessage() {
+    }
+
+    /**
+     * Builds the message for a task, inlining the payload when it has at most {@code inlinePayloadMaxChars} characters.
+     * A scheduled task carries its due time as creation time, so its queue wait starts when it was released.
+     */
+    public static TaskMessage of(TaskManagement task, int inlinePayloadMaxChars) {
+        boolean payloadByReference = task.getPayload() != null && task.getPayload().length() > inlinePayloadMaxChars;
+        return new TaskMessage(task.getId(), task.getName(), task.getStatus(),
+                payloadByReference ? null : task.getPayload(), payloadByReference,
+                task.getDueAt() != null ? task.getDueAt() : task.getCreatedAt());
+    }
+}
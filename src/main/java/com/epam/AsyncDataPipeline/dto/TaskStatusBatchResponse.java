@@ -0,0 +1,31 @@
+package com.epam.AsyncDataPipeline.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class TaskStatusBatchResponse {
+
+    private Map<Long, TaskManagementStatusResponse> statuses;
+    private List<Long> notFoundIds;
+
+    public TaskStatusBatchResponse(Map<Long, TaskManagementStatusResponse> statuses, List<Long> notFoundIds) {
+        this.statuses = statuses;
+        this.notFoundIds = notFoundIds;
+    }
+
+    public Map<Long, TaskManagementStatusResponse> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Map<Long, TaskManagementStatusResponse> statuses) {
+        this.statuses = statuses;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+
+    public void setNotFoundIds(List<Long> notFoundIds) {
+        this.notFoundIds = notFoundIds;
+    }
+}
@@ -1,14 +1,19 @@
 package com.epam.AsyncDataPipeline.entity;
 
 
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
 import jakarta.persistence.*;
 
+import java.time.Instant;
+
 
 /**
  * Entity representing a task in the task management system.
  * This entity is mapped to the 'Taskmanagement' table in the database and
- * stores task-related information such as name, payload, and status.
+ * stores task-related information such as name, payload, and status, and when the task
+ * was created, last started processing and last finished (COMPLETED or FAILED). A SCHEDULED task
+ * also has the time it is due, when it is released to processing.
  */
 
 @Entity
@@ -17,13 +22,30 @@ public class TaskManagement {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taskManagementIdGenerator")
+    @SequenceGenerator(name = "taskManagementIdGenerator", sequenceName = "taskmanagement_id_seq",
+            allocationSize = TaskManagementConstants.ID_ALLOCATION_SIZE) // pooled ids so inserts can be JDBC batched
     private Long id;
     private String name;
     private String payload;
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private TaskStatus status;
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+    @Column(name = "started_at")
+    private Instant startedAt;
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+    @Column(name = "due_at")
+    private Instant dueAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
 
 
     public Long getId() {
@@ -58,6 +80,38 @@ public class TaskManagement {
         this.status = status;
     }
 
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
+
     public TaskManagement(String name, String payload, TaskStatus status) {
         this.name = name;
         this.payload = payload;
@@ -65,4 +119,4 @@ public class TaskManagement {
     }
 
     public TaskManagement(){}
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.epam.AsyncDataPipeline.entity;
+
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+
+/**
+ * Entity representing a pending dispatch of a task to Kafka.
+ * A row is written in the same transaction as the task it refers to and deleted by the
+ * outbox relay once the task ID has been acknowledged by the broker. {@code availableAt} is when
+ * a relay may next pick the entry up: pushed out while a relay is sending it and after a failed send.
+ */
+
+@Entity
+@Table(name = "task_outbox")
+public class TaskOutbox {
+
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "taskOutboxIdGenerator")
+    @SequenceGenerator(name = "taskOutboxIdGenerator", sequenceName = "task_outbox_id_seq",
+            allocationSize = TaskManagementConstants.ID_ALLOCATION_SIZE)
+    private Long id;
+    @Column(name = "task_id")
+    private Long taskId;
+    @Column(name = "created_at")
+    private Instant createdAt;
+    private int attempts;
+    @Column(name = "available_at")
+    private Instant availableAt;
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(Instant availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public TaskOutbox(Long taskId) {
+        this.taskId = taskId;
+        this.createdAt = Instant.now();
+        this.availableAt = createdAt;
+    }
+
+    public TaskOutbox(){}
+}
@@ -0,0 +1,6 @@
+package com.epam.AsyncDataPipeline.enums;
+
+public enum ExecutorMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -1,8 +1,55 @@
 package com.epam.AsyncDataPipeline.enums;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 public enum TaskStatus {
     PENDING,
     PROCESSING,
     COMPLETED,
-    FAILED;
+    FAILED,
+    SCHEDULED;  // statuses are only ever appended, task messages carry the ordinal
+
+    // Allowed source statuses per target, most frequent source first. FAILED -> PROCESSING is a retry,
+    // SCHEDULED -> PENDING releases a task whose due time has come, PROCESSING -> PENDING re-dispatches
+    // a task abandoned by its consumer.
+    private static final Map<TaskStatus, List<TaskStatus>> PREDECESSORS = new EnumMap<>(TaskStatus.class);
+
+    static {
+        PREDECESSORS.put(PENDING, List.of(SCHEDULED, PROCESSING));
+        PREDECESSORS.put(PROCESSING, List.of(PENDING, FAILED));
+        PREDECESSORS.put(COMPLETED, List.of(PROCESSING));
+        PREDECESSORS.put(FAILED, List.of(PROCESSING, PENDING));
+        PREDECESSORS.put(SCHEDULED, List.of());
+    }
+
+    /**
+     * Returns the statuses a task may move to this status from, most frequent first.
+     */
+    public List<TaskStatus> getAllowedPredecessors() {
+        return PREDECESSORS.get(this);
+    }
+
+    public boolean canTransitionTo(TaskStatus target) {
+        return target.getAllowedPredecessors().contains(this);
+    }
+
+    /**
+     * Whether this status replaces a previously seen one: it follows it directly, or it comes later in the
+     * lifecycle, so a status seen after a lost update is still taken and a terminal status always wins.
+     */
+    public boolean supersedes(TaskStatus previous) {
+        return previous.canTransitionTo(this) || lifecycleRank() > previous.lifecycleRank();
+    }
+
+    private int lifecycleRank() {
+        return switch (this) {
+            case SCHEDULED -> 0;
+            case PENDING -> 1;
+            case PROCESSING -> 2;
+            case FAILED -> 3;
+            case COMPLETED -> 4;
+        };
+    }
 }
@@ -0,0 +1,11 @@
+package com.epam.AsyncDataPipeline.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded or does not match
+ * a sort field supported by cursor-based listing.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
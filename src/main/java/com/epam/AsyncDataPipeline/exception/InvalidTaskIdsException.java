@@ -0,0 +1,10 @@
+package com.epam.AsyncDataPipeline.exception;
+
+/**
+ * Exception thrown when a multi-task request carries no task IDs or more than it may look up at once.
+ */
+public class InvalidTaskIdsException extends RuntimeException {
+    public InvalidTaskIdsException(String message) {
+        super(message);
+    }
+}
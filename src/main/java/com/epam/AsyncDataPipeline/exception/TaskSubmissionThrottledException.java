@@ -0,0 +1,13 @@
+package com.epam.AsyncDataPipeline.exception;
+
+/**
+ * Exception thrown when a task submission is refused because the service cannot keep up,
+ * for example when task dispatch is behind or too many submissions are in flight.
+ * Answered with 429 and the {@code task.submit.retry-after-seconds} Retry-After header.
+ */
+public class TaskSubmissionThrottledException extends RuntimeException {
+
+    public TaskSubmissionThrottledException(String message) {
+        super(message);
+    }
+}
@@ -2,21 +2,29 @@ package com.epam.AsyncDataPipeline.exceptionHandler;
 
 import com.epam.AsyncDataPipeline.dto.ErrorResponse;
 import com.epam.AsyncDataPipeline.enums.ErrorType;
+import com.epam.AsyncDataPipeline.exception.InvalidCursorException;
 import com.epam.AsyncDataPipeline.exception.InvalidSortDirectionException;
+import com.epam.AsyncDataPipeline.exception.InvalidTaskIdsException;
 import com.epam.AsyncDataPipeline.exception.TaskNotFoundException;
 import com.epam.AsyncDataPipeline.exception.TaskProcessingException;
-import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import com.epam.AsyncDataPipeline.exception.TaskSubmissionThrottledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 /**
  * Global exception handler for handling application-wide exceptions.
@@ -29,6 +37,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Value("${task.submit.retry-after-seconds:1}")
+    private long throttledRetryAfterSeconds;
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(Exception exception, ErrorType errorType, HttpStatus status) {
         ErrorResponse errorResponse = new ErrorResponse(exception.getMessage(), errorType);
         return ResponseEntity.status(status).body(errorResponse);
@@ -47,10 +58,25 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(taskProcessingException, ErrorType.SYSTEM_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    @ExceptionHandler(RequestNotPermitted.class)
-    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RequestNotPermitted requestNotPermitted) {
-        logger.error("Rate limit exceeded: {}", requestNotPermitted.getMessage());
-        return buildErrorResponse(requestNotPermitted, ErrorType.SYSTEM_ERROR, HttpStatus.TOO_MANY_REQUESTS);
+    @ExceptionHandler(TaskSubmissionThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleTaskSubmissionThrottledException(TaskSubmissionThrottledException taskSubmissionThrottledException) {
+        logger.error("Task submission throttled: {}", taskSubmissionThrottledException.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttledRetryAfterSeconds))
+                .body(new ErrorResponse(taskSubmissionThrottledException.getMessage(), ErrorType.SYSTEM_ERROR));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException rejectedExecutionException) {
+        logger.error("Task executor saturated: {}", rejectedExecutionException.getMessage());
+        return buildErrorResponse(new Exception("Task executor is saturated, please retry later"), ErrorType.SYSTEM_ERROR, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleTimeoutException(TimeoutException timeoutException) {
+        logger.error("Task submission timed out: {}", timeoutException.getMessage());
+        return buildErrorResponse(new Exception("Task submission timed out, please check the task status before retrying"),
+                ErrorType.SYSTEM_ERROR, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     @ExceptionHandler(PropertyReferenceException.class)
@@ -65,6 +91,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(invalidSortDirectionException, ErrorType.DATA_ERROR, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException invalidCursorException) {
+        logger.error("Invalid cursor: {}", invalidCursorException.getMessage());
+        return buildErrorResponse(invalidCursorException, ErrorType.DATA_ERROR, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTaskIdsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTaskIdsException(InvalidTaskIdsException invalidTaskIdsException) {
+        logger.error("Invalid task ids: {}", invalidTaskIdsException.getMessage());
+        return buildErrorResponse(invalidTaskIdsException, ErrorType.DATA_ERROR, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationExceptions(HandlerMethodValidationException handlerMethodValidationException) {
+        // Constraints on request parameters, such as the page size
+        String errorMessage = handlerMethodValidationException.getAllErrors()
+                .stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+        logger.error("Validation failed: {}", errorMessage);
+
+        return buildErrorResponse(new Exception(errorMessage), ErrorType.DATA_ERROR, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException methodArgumentNotValidException) {
         logger.error("MethodArgumentNotValidException : {}", methodArgumentNotValidException.getMessage());
@@ -0,0 +1,28 @@
+package com.epam.AsyncDataPipeline.handler;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles every task whose type has no handler of its own. Processing is simulated: the consumers
+ * hold the task for {@code task.processing.simulated-delay-ms} before it gets here, and it is logged.
+ */
+@Component
+public class DefaultTaskHandler implements TaskHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultTaskHandler.class);
+
+    @Override
+    public String getType() {
+        return TaskManagementConstants.DEFAULT_TASK_HANDLER_TYPE;
+    }
+
+    @Override
+    public void handle(TaskMessage taskMessage) {
+        logger.info("Processing task {} ({})", taskMessage.getId(), taskMessage.getName());
+        logger.info("Task {} processing completed successfully", taskMessage.getId());
+    }
+}
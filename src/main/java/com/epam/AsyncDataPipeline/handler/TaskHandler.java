@@ -0,0 +1,30 @@
+package com.epam.AsyncDataPipeline.handler;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+
+/**
+ * Processes the tasks of one type. Every Spring bean implementing this interface is registered
+ * with the {@link TaskHandlerRegistry}.
+ * <p>
+ * The type of a task is the part of its name before the first {@code ':'}, or the whole name when it has
+ * none: a task named {@code report:weekly} goes to the handler of type {@code report}. Tasks of a type
+ * without a handler go to the {@code default} handler.
+ * <p>
+ * Each handler runs on its own bounded pool sized from {@code task.handlers}, so blocking is fine and a
+ * slow handler only fills its own pool.
+ */
+public interface TaskHandler {
+
+    /**
+     * @return The task type this handler processes, unique among the handlers.
+     */
+    String getType();
+
+    /**
+     * Processes one task. Returning completes the task, throwing fails it.
+     * When the payload was sent by reference it is not in the message and has to be read from the task row.
+     *
+     * @param taskMessage the task to process
+     */
+    void handle(TaskMessage taskMessage) throws Exception;
+}
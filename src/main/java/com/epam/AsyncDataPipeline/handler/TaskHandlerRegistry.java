@@ -0,0 +1,162 @@
+package com.epam.AsyncDataPipeline.handler;
+
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
+import com.epam.AsyncDataPipeline.config.TaskHandlerProperties;
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes tasks to their {@link TaskHandler} and runs every handler behind its own bulkhead.
+ * <p>
+ * Each handler type gets a pool of {@code concurrency} threads and a queue of {@code queue-capacity}
+ * tasks, configured per type under {@code task.handlers.specs}. A handler that falls behind fills its own
+ * queue while the other handlers keep their threads. A task turned away by a full queue is not failed, it is
+ * offered again every {@code task.handlers.rejected-retry-delay-ms} until the queue takes it; meanwhile
+ * {@link com.epam.AsyncDataPipeline.kakfaConsumer.TaskConsumerFlowControl} pauses the listeners on the
+ * queue watermark, so a burst of one type is slowed down rather than failed.
+ * <p>
+ * Publishes per handler the {@code tasks.handler.duration} timer, tagged with the outcome, whose count is
+ * the throughput, the {@code tasks.handler.rejected} counter, and the executor meters of its pool under
+ * the name {@code task-handler-<type>}.
+ */
+@Component
+public class TaskHandlerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskHandlerRegistry.class);
+
+    @Autowired
+    private List<TaskHandler> taskHandlers;
+
+    @Autowired
+    private TaskHandlerProperties taskHandlerProperties;
+
+    @Autowired
+    private TaskExecutorConfig taskExecutorConfig;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    private Bulkhead defaultBulkhead;
+
+    private long rejectedRetryDelayMs;
+
+    @PostConstruct
+    public void init() {
+        rejectedRetryDelayMs = taskHandlerProperties.getRejectedRetryDelayMs();
+        for (TaskHandler taskHandler : taskHandlers) {
+            String type = taskHandler.getType();
+            if (bulkheads.containsKey(type)) {
+                throw new IllegalStateException("More than one task handler of type " + type);
+            }
+            bulkheads.put(type, new Bulkhead(taskHandler,
+                    taskExecutorConfig.createHandlerExecutor(type, taskHandlerProperties.getSpec(type))));
+        }
+        defaultBulkhead = bulkheads.get(TaskManagementConstants.DEFAULT_TASK_HANDLER_TYPE);
+        if (defaultBulkhead == null) {
+            throw new IllegalStateException("No task handler of type " + TaskManagementConstants.DEFAULT_TASK_HANDLER_TYPE);
+        }
+        logger.info("Registered task handlers: {}", bulkheads.keySet());
+    }
+
+    /**
+     * @return The task type of a task name: the part before the first separator, or the whole name.
+     */
+    public static String typeOf(String taskName) {
+        if (taskName == null) {
+            return TaskManagementConstants.DEFAULT_TASK_HANDLER_TYPE;
+        }
+        int separator = taskName.indexOf(TaskManagementConstants.TASK_TYPE_SEPARATOR);
+        return separator < 0 ? taskName : taskName.substring(0, separator);
+    }
+
+    /**
+     * Runs the task on the pool of its handler.
+     *
+     * @return A future completed when the handler returned, or completed exceptionally with what it threw.
+     */
+    public CompletableFuture<Void> submit(TaskMessage taskMessage) {
+        Bulkhead bulkhead = bulkheads.getOrDefault(typeOf(taskMessage.getName()), defaultBulkhead);
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        bulkhead.offer(taskMessage, handled);
+        return handled;
+    }
+
+    private final class Bulkhead {
+
+        private final String type;
+
+        private final TaskHandler taskHandler;
+
+        private final Executor executor;
+
+        private final Timer succeededTimer;
+
+        private final Timer failedTimer;
+
+        private final Counter rejectedCounter;
+
+        private Bulkhead(TaskHandler taskHandler, Executor executor) {
+            this.type = taskHandler.getType();
+            this.taskHandler = taskHandler;
+            this.executor = executor;
+            this.succeededTimer = handlerTimer(type, "succeeded");
+            this.failedTimer = handlerTimer(type, "failed");
+            this.rejectedCounter = Counter.builder("tasks.handler.rejected")
+                    .description("Times a task was turned away by the full queue of its handler and offered again later")
+                    .tag("handler", type)
+                    .register(registry);
+        }
+
+        private void offer(TaskMessage taskMessage, CompletableFuture<Void> handled) {
+            try {
+                executor.execute(() -> handle(taskMessage, handled));
+            } catch (RejectedExecutionException exception) {
+                // The queue is full, the delayer thread only offers the task again
+                rejectedCounter.increment();
+                logger.debug("Task handler {} is full, offering task {} again in {} ms", type, taskMessage.getId(), rejectedRetryDelayMs);
+                CompletableFuture.delayedExecutor(rejectedRetryDelayMs, TimeUnit.MILLISECONDS, Runnable::run)
+                        .execute(() -> offer(taskMessage, handled));
+            }
+        }
+
+        private void handle(TaskMessage taskMessage, CompletableFuture<Void> handled) {
+            long start = System.nanoTime();
+            try {
+                taskHandler.handle(taskMessage);
+                succeededTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                handled.complete(null);
+            } catch (Throwable throwable) {
+                // Errors too, an uncompleted future would never acknowledge the record nor leave flow control
+                failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                handled.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    private Timer handlerTimer(String type, String outcome) {
+        return Timer.builder("tasks.handler.duration")
+                .description("Time a task handler spent on a task")
+                .tag("handler", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.config.KafkaConfigCacheSync;
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskCacheSyncProducer;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka consumer that applies the cache updates broadcast by the other nodes to the local
+ * {@code taskManagement} cache. Every node assigns itself all partitions of the topic instead of joining
+ * a consumer group and starts at their end, a node that just started has an empty cache and does not need
+ * the history. Without a group nothing is committed and no group is left behind when a node goes away.
+ * Records published by this node are skipped.
+ */
+@Service
+@ConditionalOnProperty(name = "task.cache.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskCacheSyncConsumer implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheSyncConsumer.class);
+
+    @Value("${task.cache.sync.topic:taskManagementCacheSync}")
+    public String topicName;
+
+    @Value("${task.cache.sync.partitions:3}")
+    private int partitions;
+
+    // All partitions of the topic, as the range "0-<last>"
+    public String partitionRange;
+
+    @Autowired
+    private TaskCacheSyncProducer taskCacheSyncProducer;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    private byte[] nodeId;
+
+    @PostConstruct
+    public void init() {
+        nodeId = taskCacheSyncProducer.getNodeId().getBytes(StandardCharsets.UTF_8);
+        partitionRange = "0-" + (partitions - 1);
+    }
+
+    /**
+     * Starts every assigned partition at its end, only the updates published from now on are applied.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+
+    /**
+     * Applies one broadcast cache update: a status is put into the local cache, a tombstone evicts the entry.
+     *
+     * @param record the cache update, keyed by task ID
+     */
+    @KafkaListener(topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+                    topic = "#{__listener.topicName}", partitions = "#{__listener.partitionRange}"),
+            containerFactory = KafkaConfigCacheSync.CACHE_SYNC_LISTENER_CONTAINER_FACTORY)
+    public void applyCacheSync(ConsumerRecord<String, String> record) {
+        Header origin = record.headers().lastHeader(TaskManagementConstants.CACHE_SYNC_NODE_HEADER);
+        if (origin != null && Arrays.equals(nodeId, origin.value())) {
+            return;
+        }
+
+        Long taskId;
+        TaskStatus status;
+        try {
+            taskId = Long.valueOf(record.key());
+            status = record.value() == null ? null : TaskStatus.valueOf(record.value());
+        } catch (IllegalArgumentException exception) {
+            logger.warn("Ignoring malformed cache sync record {}={}", record.key(), record.value());
+            return;
+        }
+
+        if (status == null) {
+            taskStatusCache.evictLocal(List.of(taskId));
+        } else {
+            taskStatusCache.putLocal(taskId, status);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
+import com.epam.AsyncDataPipeline.config.TaskHandlerProperties;
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumer-side flow control for the task listeners.
+ * <p>
+ * The record consumer hands every task to the async executors and returns, so without a bound it keeps
+ * polling while the database or the executors fall behind. This component checks four signals every
+ * {@code check-interval-ms}: tasks received but not finished, threads waiting for a Hikari connection,
+ * the queue depth of the status-update executor, and the fullest task handler queue as a fraction of its
+ * {@code queue-capacity}, so a burst of any one task type holds the listeners back. When any of them reaches
+ * its high watermark the task listener containers are paused; they are resumed once all of them are back
+ * at or below their low watermark. A paused container keeps polling without fetching records, so the consumers
+ * stay in the group and no rebalance is triggered however long the pause lasts.
+ * <p>
+ * Publishes {@code tasks.consumer.inflight}, {@code tasks.consumer.flow.paused} (1 while paused) and the
+ * {@code tasks.consumer.flow.pause} timer, tagged with the signal that caused the pause, whose total is
+ * the time spent paused.
+ */
+@Component
+public class TaskConsumerFlowControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskConsumerFlowControl.class);
+
+    private static final String HIKARI_PENDING_METER = "hikaricp.connections.pending";
+
+    private static final String EXECUTOR_QUEUED_METER = "executor.queued";
+
+    // Handler pools are watched separately, relative to the queue capacity of each
+    private static final String[] WATCHED_EXECUTORS = {"task-status-update"};
+
+    @Value("${task.consumer.flow-control.enabled:true}")
+    private boolean enabled;
+
+    @Value("${task.consumer.flow-control.in-flight.high:2000}")
+    private int inFlightHigh;
+
+    @Value("${task.consumer.flow-control.in-flight.low:1000}")
+    private int inFlightLow;
+
+    @Value("${task.consumer.flow-control.db-pending.high:10}")
+    private double dbPendingHigh;
+
+    @Value("${task.consumer.flow-control.db-pending.low:2}")
+    private double dbPendingLow;
+
+    @Value("${task.consumer.flow-control.executor-queue.high:800}")
+    private double executorQueueHigh;
+
+    @Value("${task.consumer.flow-control.executor-queue.low:200}")
+    private double executorQueueLow;
+
+    @Value("${task.consumer.flow-control.handler-queue.high:0.8}")
+    private double handlerQueueHigh;
+
+    @Value("${task.consumer.flow-control.handler-queue.low:0.2}")
+    private double handlerQueueLow;
+
+    @Autowired
+    private TaskHandlerProperties taskHandlerProperties;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean paused;
+
+    private Timer.Sample pauseSample;
+
+    private String pauseReason;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("tasks.consumer.inflight", inFlight, AtomicInteger::get)
+                .description("Tasks received by the consumers and not finished yet")
+                .register(registry);
+        Gauge.builder("tasks.consumer.flow.paused", this, flowControl -> flowControl.isPaused() ? 1 : 0)
+                .description("1 while the task listeners are paused by flow control")
+                .register(registry);
+    }
+
+    public void taskStarted(int count) {
+        inFlight.addAndGet(count);
+    }
+
+    public void taskFinished(int count) {
+        inFlight.addAndGet(-count);
+    }
+
+    /**
+     * Pauses or resumes the task listener containers from the current in-flight count, Hikari pending
+     * connections, executor queue depth and handler queue fill.
+     */
+    @Scheduled(fixedDelayString = "${task.consumer.flow-control.check-interval-ms:100}")
+    public synchronized void check() {
+        if (!enabled) {
+            return;
+        }
+        int currentInFlight = inFlight.get();
+        double dbPending = sumGauges(HIKARI_PENDING_METER, null);
+        double executorQueue = sumGauges(EXECUTOR_QUEUED_METER, WATCHED_EXECUTORS);
+        double handlerQueue = fullestHandlerQueue();
+
+        if (!paused) {
+            String reason = currentInFlight >= inFlightHigh ? "in-flight"
+                    : dbPending >= dbPendingHigh ? "db-pending"
+                    : executorQueue >= executorQueueHigh ? "executor-queue"
+                    : handlerQueue >= handlerQueueHigh ? "handler-queue"
+                    : null;
+            if (reason != null) {
+                logger.warn("Pausing task consumers ({}): {} tasks in flight, {} waiting for a connection, {} queued, fullest handler queue {}%",
+                        reason, currentInFlight, (long) dbPending, (long) executorQueue, Math.round(handlerQueue * 100));
+                setContainersPaused(true);
+                pauseReason = reason;
+                pauseSample = Timer.start(registry);
+                paused = true;
+            }
+        } else if (currentInFlight <= inFlightLow && dbPending <= dbPendingLow && executorQueue <= executorQueueLow
+                && handlerQueue <= handlerQueueLow) {
+            setContainersPaused(false);
+            long pausedNanos = pauseSample.stop(Timer.builder("tasks.consumer.flow.pause")
+                    .description("Time the task listeners spent paused by flow control")
+                    .tag("reason", pauseReason)
+                    .register(registry));
+            logger.info("Resuming task consumers after {} ms", pausedNanos / 1_000_000);
+            paused = false;
+        }
+    }
+
+    private void setContainersPaused(boolean pause) {
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            // Retry topic containers are named after the main listener, they are paused with it
+            if (container.getListenerId() == null || !container.getListenerId().startsWith(TaskManagementConstants.TASK_LISTENER_ID)) {
+                continue;
+            }
+            if (pause) {
+                container.pause();
+            } else {
+                container.resume();
+            }
+        }
+    }
+
+    private double sumGauges(String meterName, String[] names) {
+        double total = 0;
+        if (names == null) {
+            for (Gauge gauge : registry.find(meterName).gauges()) {
+                total += valueOf(gauge);
+            }
+            return total;
+        }
+        for (String name : names) {
+            for (Gauge gauge : registry.find(meterName).tag("name", name).gauges()) {
+                total += valueOf(gauge);
+            }
+        }
+        return total;
+    }
+
+    private double fullestHandlerQueue() {
+        double fullest = 0;
+        for (Gauge gauge : registry.find(EXECUTOR_QUEUED_METER).gauges()) {
+            String name = gauge.getId().getTag("name");
+            if (name == null || !name.startsWith(TaskExecutorConfig.HANDLER_EXECUTOR_PREFIX)) {
+                continue;
+            }
+            String handlerType = name.substring(TaskExecutorConfig.HANDLER_EXECUTOR_PREFIX.length());
+            int queueCapacity = taskHandlerProperties.getSpec(handlerType).getQueueCapacity();
+            fullest = Math.max(fullest, valueOf(gauge) / Math.max(queueCapacity, 1));
+        }
+        return fullest;
+    }
+
+    private static double valueOf(Gauge gauge) {
+        double value = gauge.value();
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,137 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.handler.TaskHandlerRegistry;
+import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka consumer service for processing tasks in batches.
+ * Enabled with {@code task.consumer.mode=batch}, it receives all task IDs of a poll at once
+ * and moves them through their statuses with set-based updates: one locking SELECT and UPDATE to
+ * PROCESSING for the whole batch and one UPDATE per outcome (COMPLETED, FAILED), so database round
+ * trips grow with the number of polls instead of the number of tasks.
+ */
+@Service
+@ConditionalOnProperty(name = "task.consumer.mode", havingValue = "batch")
+public class TaskManagementBatchConsumer {
+
+    @Value("${spring.kafka.topic.name}")
+    public String topicName;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    public String groupId;
+
+    @Value("${task.processing.simulated-delay-ms:10000}")
+    private long simulatedDelayMs;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskManagementBatchConsumer.class);
+
+    @Autowired
+    private TaskManagementService taskManagementService;
+
+    @Autowired
+    private TaskMetricsService taskMetricsService;
+
+    @Autowired
+    private TaskConsumerFlowControl taskConsumerFlowControl;
+
+    @Autowired
+    private TaskHandlerRegistry taskHandlerRegistry;
+
+    /**
+     * Processes every task message delivered by one poll.
+     * The messages carry the tasks, so apart from the set-based status updates no database access is needed.
+     * Every task runs on the pool of its handler in the {@link TaskHandlerRegistry}, a full handler holds
+     * the task back until its queue takes it.
+     * Only the tasks this batch moved to PROCESSING are processed and finished; redelivered tasks that already
+     * started or finished elsewhere are skipped.
+     * The batch is acknowledged once all tasks have reached COMPLETED or FAILED; if a status update
+     * fails the whole batch is redelivered by the container's error handler.
+     *
+     * @param taskMessages the task messages of the poll, null for records that could not be deserialized
+     */
+    @KafkaListener(id = TaskManagementConstants.TASK_LISTENER_ID, topics = "#{__listener.topicName}", groupId = "#{__listener.groupId}", batch = "true",
+            properties = "max.poll.records=${task.consumer.batch.max-poll-records:500}")
+    public void processTasks(List<TaskMessage> taskMessages) {
+        Map<Long, TaskMessage> messagesById = indexTaskMessages(taskMessages);
+        logger.info("Received batch of {} tasks", messagesById.size());
+        if (messagesById.isEmpty()) {
+            return;
+        }
+
+        // The container thread waits for the batch, flow control still pauses it when the database or executors lag
+        taskConsumerFlowControl.taskStarted(messagesById.size());
+        try {
+            List<Long> orderedIds = taskManagementService.startTasks(messagesById.keySet());
+            if (orderedIds.size() < messagesById.size()) {
+                // Duplicate deliveries or tasks that already finished
+                logger.info("Skipping {} tasks that are not in a state that can be processed", messagesById.size() - orderedIds.size());
+            }
+            Instant startedAt = Instant.now();
+            for (Long taskId : orderedIds) {
+                taskMetricsService.recordQueueWait(messagesById.get(taskId).getCreatedAt(), startedAt);
+            }
+
+            // The delayed executor only hands the tasks to their handlers' pools, which run them
+            Executor delayedExecutor = CompletableFuture.delayedExecutor(simulatedDelayMs, TimeUnit.MILLISECONDS, Runnable::run);
+            List<CompletableFuture<Void>> processingFutures = new ArrayList<>(orderedIds.size());
+            for (Long taskId : orderedIds) {
+                TaskMessage taskMessage = messagesById.get(taskId);
+                processingFutures.add(CompletableFuture.supplyAsync(() -> taskMessage, delayedExecutor)
+                        .thenCompose(taskHandlerRegistry::submit));
+            }
+
+            List<Long> completedIds = new ArrayList<>();
+            List<Long> failedIds = new ArrayList<>();
+            for (int index = 0; index < orderedIds.size(); index++) {
+                Long taskId = orderedIds.get(index);
+                try {
+                    processingFutures.get(index).join();
+                    completedIds.add(taskId);
+                    taskMetricsService.recordProcessing(startedAt, Instant.now(), TaskStatus.COMPLETED);
+                } catch (RuntimeException exception) {
+                    logger.error("Error processing task {}: {}", taskId, exception.getMessage(), exception);
+                    failedIds.add(taskId);
+                    taskMetricsService.recordProcessing(startedAt, Instant.now(), TaskStatus.FAILED);
+                }
+            }
+
+            taskManagementService.updateTaskStatuses(completedIds, TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+            taskManagementService.updateTaskStatuses(failedIds, TaskStatus.PROCESSING, TaskStatus.FAILED);
+            logger.info("Batch processed: {} completed, {} failed", completedIds.size(), failedIds.size());
+        } finally {
+            taskConsumerFlowControl.taskFinished(messagesById.size());
+        }
+    }
+
+    private Map<Long, TaskMessage> indexTaskMessages(List<TaskMessage> taskMessages) {
+        Map<Long, TaskMessage> messagesById = new LinkedHashMap<>(taskMessages.size());
+        for (TaskMessage taskMessage : taskMessages) {
+            if (taskMessage == null || taskMessage.getId() == null) {
+                logger.error("Skipping record that is not a valid task message");
+                continue;
+            }
+            messagesById.putIfAbsent(taskMessage.getId(), taskMessage);
+        }
+        return messagesById;
+    }
+}
@@ -1,28 +1,39 @@
 package com.epam.AsyncDataPipeline.kakfaConsumer;
 
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
 import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
 import com.epam.AsyncDataPipeline.exception.TaskProcessingException;
+import com.epam.AsyncDataPipeline.handler.TaskHandlerRegistry;
 import com.epam.AsyncDataPipeline.service.TaskManagementService;
 import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka consumer service for processing tasks asynchronously.
  * This service listens to a Kafka topic, processes task messages,
- * updates task statuses, and tracks task metrics.
+ * updates task statuses, and records how long tasks were queued and processed.
+ * Completed and failed tasks are counted by {@link TaskManagementService} when their status changes.
  */
 @Service
+@ConditionalOnProperty(name = "task.consumer.mode", havingValue = "record", matchIfMissing = true)
 public class TaskManagementConsumer {
 
 
@@ -32,6 +43,9 @@ public class TaskManagementConsumer {
     @Value("${spring.kafka.consumer.group-id}")
     public String groupId;
 
+    @Value("${task.processing.simulated-delay-ms:10000}")
+    private long simulatedDelayMs;
+
     private static final Logger logger = LoggerFactory.getLogger(TaskManagementConsumer.class);
     @Autowired
     private TaskManagementService taskManagementService;
@@ -39,6 +53,16 @@ public class TaskManagementConsumer {
     @Autowired
     private TaskMetricsService taskMetricsService;
 
+    @Autowired
+    private TaskConsumerFlowControl taskConsumerFlowControl;
+
+    @Autowired
+    private TaskHandlerRegistry taskHandlerRegistry;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.STATUS_UPDATE_EXECUTOR)
+    private Executor taskStatusUpdateExecutor;
+
     /**
      * Processes a task asynchronously upon receiving a message from the Kafka topic.
      * <p>
@@ -46,50 +70,73 @@ public class TaskManagementConsumer {
      * if a {@link TaskProcessingException} occurs. The retry attempts have a delay of 1 second initially,
      * which doubles after each failure.
      *</p>
-     * The task processing involves updating the task status, handling the task execution with a delay,
-     * and updating the status upon completion. In case of an error, it is handled appropriately.
+     * The task processing involves updating the task status, handing the task to its handler through the
+     * {@link TaskHandlerRegistry} after the simulated delay, and updating the status upon completion.
+     * A full handler holds the task back until its queue takes it. In case of an error, it is handled appropriately.
+     * Deliveries for tasks that cannot move to PROCESSING (already processing or completed) are skipped, a task
+     * left PROCESSING by a consumer that died is re-dispatched by the {@link com.epam.AsyncDataPipeline.service.impl.StaleTaskRecoveryService}.
+     * The message carries the task, so processing needs no database read. Every task counts as in flight
+     * for {@link TaskConsumerFlowControl} until it finished, which pauses this listener when too many pile up.
      *
-     * @param taskId the ID of the task to be processed
+     * @param taskMessage the task to be processed
      * @return a {@link CompletableFuture} that represents the asynchronous execution of the task
      */
     @RetryableTopic(
             attempts = "3",
             backoff = @Backoff(delay = 1000, multiplier = 2.0),
-            include = {TaskProcessingException.class}
+            include = {TaskProcessingException.class},
+            kafkaTemplate = "kafkaTemplate"  // the cache sync template is a second KafkaTemplate bean
     )
-    @KafkaListener(topics = "#{__listener.topicName}", groupId = "#{__listener.groupId}")
-    public CompletableFuture<Void> processTask(Long taskId) {
+    @KafkaListener(id = TaskManagementConstants.TASK_LISTENER_ID, topics = "#{__listener.topicName}", groupId = "#{__listener.groupId}")
+    public CompletableFuture<Void> processTask(TaskMessage taskMessage) {
+        Long taskId = taskMessage.getId();
         logger.info("Received task ID: {}", taskId);
+        taskConsumerFlowControl.taskStarted(1);
 
-        return CompletableFuture.runAsync(() -> {
-                    logger.info("Updating task {} status to PROCESSING", taskId);
-                    taskManagementService.updateTaskStatus(taskId, TaskStatus.PROCESSING);
-                })
-                .thenRunAsync(() -> handleTask(taskId), CompletableFuture.delayedExecutor(TaskManagementConstants.THREAD_DELAY_MS, TimeUnit.MILLISECONDS))
-                .thenRunAsync(() -> {
-                    logger.info("Updating task {} status to COMPLETED", taskId);
-                    taskManagementService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
-                    taskMetricsService.incrementTasksCompleted();
+        CompletableFuture<Boolean> processingStarted;
+        try {
+            processingStarted = CompletableFuture.supplyAsync(() -> {
+                logger.info("Updating task {} status to PROCESSING", taskId);
+                return taskManagementService.updateTaskStatus(taskId, TaskStatus.PROCESSING);
+            }, taskStatusUpdateExecutor);
+        } catch (RejectedExecutionException exception) {
+            // Rejected before the chain that finishes the task exists, the task is still PENDING and goes to the retry topic
+            taskConsumerFlowControl.taskFinished(1);
+            throw new TaskProcessingException("Status update executor is saturated: " + exception.getMessage());
+        }
+
+        return processingStarted
+                .thenCompose(started -> {
+                    if (!started) {
+                        // Duplicate delivery or a task that already finished, the transition was rejected
+                        logger.info("Task {} is not in a state that can be processed, skipping", taskId);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    Instant startedAt = Instant.now();
+                    taskMetricsService.recordQueueWait(taskMessage.getCreatedAt(), startedAt);
+                    // The delayed executor only hands the task to its handler's pool, which runs it
+                    return CompletableFuture.supplyAsync(() -> taskMessage, CompletableFuture.delayedExecutor(simulatedDelayMs, TimeUnit.MILLISECONDS, Runnable::run))
+                            .thenCompose(taskHandlerRegistry::submit)
+                            .thenRunAsync(() -> {
+                                logger.info("Updating task {} status to COMPLETED", taskId);
+                                taskManagementService.updateTaskStatus(taskId, TaskStatus.COMPLETED);
+                                taskMetricsService.recordProcessing(startedAt, Instant.now(), TaskStatus.COMPLETED);
+                            }, taskStatusUpdateExecutor)
+                            .exceptionally(exception -> {
+                                taskMetricsService.recordProcessing(startedAt, Instant.now(), TaskStatus.FAILED);
+                                throw exception instanceof CompletionException completionException
+                                        ? completionException : new CompletionException(exception);
+                            });
                 })
-                .exceptionally(exception -> handleProcessingError(taskId, exception));
+                .exceptionally(exception -> handleProcessingError(taskId, exception))
+                .whenComplete((result, exception) -> taskConsumerFlowControl.taskFinished(1));
     }
 
 
 
-    /**
-     * Handles the actual processing of the task.
-     * Simulates a delay before marking the task as completed.
-     *
-     * @param taskId the task ID to process
-     */
-    private void handleTask(Long taskId) {
-
-        logger.info("Processing task {} with a simulated delay of {} ms", taskId, TaskManagementConstants.THREAD_DELAY_MS);
-        logger.info("Task {} processing completed successfully", taskId);
-    }
     /**
      * Handles errors that occur during task processing.
-     * Updates the task status to FAILED and increments the failure metric.
+     * Updates the task status to FAILED, which also counts the failure.
      *
      * @param taskId    the task ID that encountered an error
      * @param exception the exception that occurred
@@ -98,7 +145,6 @@ public class TaskManagementConsumer {
     private Void handleProcessingError(Long taskId, Throwable exception) {
         logger.error("Error processing task {}: {}", taskId, exception.getMessage(), exception);
         taskManagementService.updateTaskStatus(taskId, TaskStatus.FAILED);
-        taskMetricsService.incrementTasksFailed();
         throw new TaskProcessingException("Failed to process task: " + exception.getMessage());
     }
 }
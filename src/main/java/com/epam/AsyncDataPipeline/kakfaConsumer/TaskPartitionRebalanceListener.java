@@ -0,0 +1,93 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the task topic partitions owned by this node's consumers across rebalances.
+ * The task consumers use the cooperative sticky assignor, so a rebalance only moves the partitions
+ * that change owner and the others keep being consumed. Offsets of tasks still in flight on a revoked
+ * partition are not committed; the new owner receives those records again and the conditional
+ * status update skips the tasks that already started. Those keep running on this node when it is
+ * still up; a task whose processing died with its consumer stays PROCESSING until the
+ * {@link com.epam.AsyncDataPipeline.service.impl.StaleTaskRecoveryService} re-dispatches it.
+ * <p>
+ * Publishes the number of owned partitions as {@code tasks.consumer.partitions.assigned} and counts
+ * partitions assigned, revoked and lost in {@code tasks.consumer.rebalance.partitions}.
+ */
+@Component
+public class TaskPartitionRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPartitionRebalanceListener.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Set<TopicPartition> assignedPartitions = ConcurrentHashMap.newKeySet();
+
+    private Counter assignedCounter;
+    private Counter revokedCounter;
+    private Counter lostCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("tasks.consumer.partitions.assigned", assignedPartitions, Set::size)
+                .description("Task topic partitions currently owned by the consumers of this node")
+                .register(registry);
+        assignedCounter = rebalanceCounter("assigned");
+        revokedCounter = rebalanceCounter("revoked");
+        lostCounter = rebalanceCounter("lost");
+    }
+
+    private Counter rebalanceCounter(String event) {
+        return Counter.builder("tasks.consumer.rebalance.partitions")
+                .description("Task topic partitions that changed owner in a rebalance")
+                .tag("event", event)
+                .register(registry);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        assignedPartitions.addAll(partitions);
+        assignedCounter.increment(partitions.size());
+        logger.info("Task partitions assigned: {}, {} owned by this node", partitions, assignedPartitions.size());
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        assignedPartitions.removeAll(partitions);
+        revokedCounter.increment(partitions.size());
+        logger.info("Task partitions revoked: {}, {} owned by this node", partitions, assignedPartitions.size());
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // Lost partitions were reassigned without a commit, e.g. after a missed poll deadline
+        assignedPartitions.removeAll(partitions);
+        lostCounter.increment(partitions.size());
+        logger.warn("Task partitions lost: {}, {} owned by this node", partitions, assignedPartitions.size());
+    }
+
+    public int getAssignedPartitionCount() {
+        return assignedPartitions.size();
+    }
+}
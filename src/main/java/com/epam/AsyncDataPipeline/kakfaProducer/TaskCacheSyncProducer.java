@@ -0,0 +1,88 @@
+package com.epam.AsyncDataPipeline.kakfaProducer;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Broadcasts the status updates of the local {@code taskManagement} cache to the other nodes.
+ * Each record is keyed by task ID and carries the new status, or no value when the entry was evicted,
+ * and is tagged with the ID of this node so the node does not apply its own updates twice.
+ * Sends are fire-and-forget: a lost update only leaves another node's entry stale until it expires.
+ */
+@Component
+@ConditionalOnProperty(name = "task.cache.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskCacheSyncProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheSyncProducer.class);
+
+    @Value("${task.cache.sync.topic:taskManagementCacheSync}")
+    private String topicName;
+
+    @Value("${task.cache.sync.node-id:${random.uuid}}")
+    private String nodeId;
+
+    @Autowired
+    private KafkaTemplate<String, String> cacheSyncKafkaTemplate;
+
+    /**
+     * Broadcasts the new status of a task.
+     *
+     * @param id     The task ID.
+     * @param status The new status.
+     */
+    public void publish(Long id, TaskStatus status) {
+        send(id, status.name());
+    }
+
+    /**
+     * Broadcasts the same new status for a set of tasks.
+     *
+     * @param ids    The task IDs.
+     * @param status The new status.
+     */
+    public void publishAll(Collection<Long> ids, TaskStatus status) {
+        for (Long id : ids) {
+            send(id, status.name());
+        }
+    }
+
+    /**
+     * Broadcasts the eviction of a set of tasks as tombstones.
+     *
+     * @param ids The task IDs.
+     */
+    public void publishEvictions(Collection<Long> ids) {
+        for (Long id : ids) {
+            send(id, null);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void send(Long id, String status) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topicName, id.toString(), status);
+        record.headers().add(TaskManagementConstants.CACHE_SYNC_NODE_HEADER, nodeId.getBytes(StandardCharsets.UTF_8));
+        try {
+            cacheSyncKafkaTemplate.send(record).whenComplete((sendResult, exception) -> {
+                if (exception != null) {
+                    logger.warn("Cache sync for task ID {} was not delivered: {}", id, exception.getMessage());
+                }
+            });
+        } catch (RuntimeException exception) {
+            logger.warn("Cache sync for task ID {} was not sent: {}", id, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.AsyncDataPipeline.kakfaProducer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends task messages to the task topic and tracks every send until the broker acknowledges it.
+ * Each send records its acknowledgement latency. Submissions are not throttled here, the outbox sits
+ * in front of the producer, so a saturated producer shows as a growing outbox, see
+ * {@link com.epam.AsyncDataPipeline.service.impl.TaskOutboxBacklog}.
+ * Records are keyed by task ID so they spread evenly over the partitions, tasks are processed in no particular order.
+ */
+@Component
+public class TaskDispatchProducer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDispatchProducer.class);
+
+    @Value("${spring.kafka.topic.name}")
+    private String topicName;
+
+    @Autowired
+    private KafkaTemplate<String, TaskMessage> kafkaTemplate;
+
+    @Autowired
+    private TaskMetricsService taskMetricsService;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Hands the task message to the producer without waiting for the broker.
+     *
+     * @param taskMessage The task message.
+     * @return A future completed when the broker acknowledged the record, or failed when the send failed.
+     */
+    public CompletableFuture<SendResult<String, TaskMessage>> send(TaskMessage taskMessage) {
+        Long taskId = taskMessage.getId();
+        inFlight.incrementAndGet();
+        long startNanos = System.nanoTime();
+        CompletableFuture<SendResult<String, TaskMessage>> sendFuture;
+        try {
+            sendFuture = kafkaTemplate.send(topicName, String.valueOf(taskId), taskMessage);
+        } catch (RuntimeException exception) {
+            // send throws instead of returning a failed future when the buffer stays full for max.block.ms
+            inFlight.decrementAndGet();
+            logger.error("Kafka producer rejected task ID {}: {}", taskId, exception.getMessage());
+            return CompletableFuture.failedFuture(exception);
+        }
+        return sendFuture.whenComplete((sendResult, exception) -> {
+            inFlight.decrementAndGet();
+            if (exception == null) {
+                taskMetricsService.recordDispatchLatency(System.nanoTime() - startNanos);
+            } else {
+                logger.error("Kafka did not acknowledge task ID {}: {}", taskId, exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Sends every buffered record immediately instead of waiting for {@code linger.ms}.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -20,6 +20,10 @@ public interface EntityToModelMapper {
 
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "startedAt", ignore = true)
+    @Mapping(target = "finishedAt", ignore = true)
+    @Mapping(target = "dueAt", ignore = true)  // resolved from runAt or delayMs by the service
     TaskManagement mapRequestToEntity(TaskManagementRequest taskManagementRequest);
     TaskManagementResponse mapEntityToDto(TaskManagement taskManagement);
 
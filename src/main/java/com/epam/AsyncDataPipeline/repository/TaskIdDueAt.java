@@ -0,0 +1,13 @@
+package com.epam.AsyncDataPipeline.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection for the id and due time of a scheduled task, read without loading the rest of the row.
+ */
+public interface TaskIdDueAt {
+
+    Long getId();
+
+    Instant getDueAt();
+}
@@ -0,0 +1,13 @@
+package com.epam.AsyncDataPipeline.repository;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+
+/**
+ * Projection for the id and status of a task, read without loading the rest of the row.
+ */
+public interface TaskIdStatus {
+
+    Long getId();
+
+    TaskStatus getStatus();
+}
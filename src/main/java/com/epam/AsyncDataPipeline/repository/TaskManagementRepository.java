@@ -1,11 +1,150 @@
 package com.epam.AsyncDataPipeline.repository;
 
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
 import com.epam.AsyncDataPipeline.entity.TaskManagement;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskManagementRepository extends JpaRepository<TaskManagement, Long> {
 
+    /**
+     * Moves the task to {@code to} only if it is currently in {@code from}, in a single conditional UPDATE.
+     * Concurrent or duplicate transitions cannot overwrite each other because the status check and the
+     * write happen in the same statement.
+     *
+     * @return 1 if the transition was applied, 0 if the task does not exist or is not in {@code from}
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to where t.id = :id and t.status = :from")
+    int updateStatusByIdAndStatus(@Param("id") Long id, @Param("from") TaskStatus from, @Param("to") TaskStatus to);
+
+    /**
+     * Same as {@link #updateStatusByIdAndStatus}, for a transition that starts processing: records when it started
+     * and clears the finish time of an earlier attempt.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to, t.startedAt = :at, t.finishedAt = null where t.id = :id and t.status = :from")
+    int startByIdAndStatus(@Param("id") Long id, @Param("from") TaskStatus from, @Param("to") TaskStatus to, @Param("at") Instant at);
+
+    /**
+     * Same as {@link #updateStatusByIdAndStatus}, for a transition that ends processing: records when it finished.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to, t.finishedAt = :at where t.id = :id and t.status = :from")
+    int finishByIdAndStatus(@Param("id") Long id, @Param("from") TaskStatus from, @Param("to") TaskStatus to, @Param("at") Instant at);
+
+    /**
+     * Moves all the given tasks that are currently in {@code from} to {@code to} with a single UPDATE statement.
+     *
+     * @return the number of rows updated
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to where t.id in :ids and t.status = :from")
+    int updateStatusByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("from") TaskStatus from, @Param("to") TaskStatus to);
+
+    /**
+     * Set-based {@link #startByIdAndStatus}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to, t.startedAt = :at, t.finishedAt = null where t.id in :ids and t.status = :from")
+    int startByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("from") TaskStatus from, @Param("to") TaskStatus to, @Param("at") Instant at);
+
+    /**
+     * Set-based {@link #finishByIdAndStatus}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update TaskManagement t set t.status = :to, t.finishedAt = :at where t.id in :ids and t.status = :from")
+    int finishByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("from") TaskStatus from, @Param("to") TaskStatus to, @Param("at") Instant at);
+
+    /**
+     * Reads the id and status of the given tasks with a single IN query, IDs that do not exist are left out.
+     */
+    @Query("select t.id as id, t.status as status from TaskManagement t where t.id in :ids")
+    List<TaskIdStatus> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.status as status, count(t) as count from TaskManagement t group by t.status")
+    List<TaskStatusCount> countGroupByStatus();
+
+    /**
+     * Reads one window of tasks after the given keyset position, without a count query.
+     */
+    Window<TaskManagement> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Streams the tasks in the id range with a JDBC fetch size, so rows are pulled from the cursor
+     * as they are consumed. Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskManagementConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskManagement> streamByIdBetweenOrderByIdAsc(Long fromId, Long toId);
+
+    /**
+     * Same as {@link #streamByIdBetweenOrderByIdAsc(Long, Long)}, restricted to one status.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskManagementConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskManagement> streamByStatusAndIdBetweenOrderByIdAsc(TaskStatus status, Long fromId, Long toId);
+
+    /**
+     * Streams the id and due time of every task in the status, for loading the scheduled tasks into the
+     * timing wheel at startup. Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskManagementConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id as id, t.dueAt as dueAt from TaskManagement t where t.status = :status")
+    Stream<TaskIdDueAt> streamDueAtByStatus(@Param("status") TaskStatus status);
+
+    /**
+     * IDs of the tasks in the status that were due at or before {@code dueAt}, earliest first.
+     */
+    @Query("select t.id from TaskManagement t where t.status = :status and t.dueAt <= :dueAt order by t.dueAt")
+    List<Long> findIdsByStatusAndDueAtBefore(@Param("status") TaskStatus status, @Param("dueAt") Instant dueAt, Limit limit);
+
+    /**
+     * IDs of the tasks in the status that started at or before {@code startedAt}, longest running first.
+     */
+    @Query("select t.id from TaskManagement t where t.status = :status and t.startedAt <= :startedAt order by t.startedAt")
+    List<Long> findIdsByStatusAndStartedAtBefore(@Param("status") TaskStatus status, @Param("startedAt") Instant startedAt, Limit limit);
+
+    /**
+     * Locks the given tasks that are in the status with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so a task
+     * released by several nodes at once is only released by one of them.
+     * Must be called inside a transaction; the locks are held until it ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // -2 = SKIP LOCKED
+    List<TaskManagement> findByIdInAndStatus(Collection<Long> ids, TaskStatus status);
+
 }
@@ -0,0 +1,44 @@
+package com.epam.AsyncDataPipeline.repository;
+
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutbox, Long> {
+
+    /**
+     * Locks the oldest outbox entries available at {@code now} with {@code SELECT ... FOR UPDATE SKIP LOCKED},
+     * so several relays can claim entries concurrently without claiming the same entry twice.
+     * Must be called inside a transaction; the locks are held until it ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // -2 = SKIP LOCKED
+    List<TaskOutbox> findByAvailableAtLessThanEqualOrderByIdAsc(Instant now, Limit limit);
+
+    /**
+     * Counts a failed send of the given entries and holds them back until {@code availableAt}.
+     */
+    @Modifying
+    @Query("update TaskOutbox o set o.attempts = o.attempts + 1, o.availableAt = :availableAt where o.id in :ids")
+    int deferByIdIn(@Param("ids") Collection<Long> ids, @Param("availableAt") Instant availableAt);
+
+    /**
+     * @return When the oldest entry a relay may pick up at {@code now} was written, or null when there is none.
+     * Entries being sent or held back after a failed send are left out.
+     */
+    @Query("select min(o.createdAt) from TaskOutbox o where o.availableAt <= :now")
+    Instant findOldestAvailableCreatedAt(@Param("now") Instant now);
+}
@@ -0,0 +1,13 @@
+package com.epam.AsyncDataPipeline.repository;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+
+/**
+ * Projection for the per-status row counts returned by a {@code GROUP BY status} query.
+ */
+public interface TaskStatusCount {
+
+    TaskStatus getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,92 @@
+package com.epam.AsyncDataPipeline.serializer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Kafka deserializer reading the binary envelope written by {@link TaskMessageSerializer}.
+ * Records published before the envelope existed carry only the task ID as a decimal string;
+ * they are read as a PENDING task whose payload is sent by reference.
+ */
+public class TaskMessageDeserializer implements Deserializer<TaskMessage> {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Override
+    public TaskMessage deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] >= '0' && data[0] <= '9') {
+            return deserializeLegacy(data);
+        }
+        byte version = data[0];
+        if (version < 1 || version > TaskMessageSerializer.CURRENT_VERSION) {
+            throw new SerializationException("Unsupported task message version " + data[0]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+        try {
+            TaskMessage message = new TaskMessage();
+            message.setId(readVarLong(buffer));
+            int status = buffer.get();
+            if (status < 0 || status >= STATUSES.length) {
+                throw new SerializationException("Unknown task status " + status);
+            }
+            message.setStatus(STATUSES[status]);
+            message.setName(readString(buffer));
+            message.setPayloadByReference((buffer.get() & TaskMessageSerializer.FLAG_PAYLOAD_BY_REFERENCE) != 0);
+            if (!message.isPayloadByReference()) {
+                message.setPayload(readString(buffer));
+            }
+            if (version >= 2) {
+                long createdAt = readVarLong(buffer);
+                message.setCreatedAt(createdAt == 0 ? null : Instant.ofEpochMilli(createdAt - 1));
+            }
+            return message;
+        } catch (RuntimeException exception) {
+            if (exception instanceof SerializationException) {
+                throw exception;
+            }
+            throw new SerializationException("Malformed task message", exception);
+        }
+    }
+
+    private static TaskMessage deserializeLegacy(byte[] data) {
+        try {
+            long id = Long.parseLong(new String(data, StandardCharsets.US_ASCII));
+            return new TaskMessage(id, null, TaskStatus.PENDING, null, true);
+        } catch (NumberFormatException exception) {
+            throw new SerializationException("Malformed legacy task message", exception);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length == 0) {
+            return null;
+        }
+        int byteLength = Math.toIntExact(length - 1);
+        String value = new String(buffer.array(), buffer.position(), byteLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + byteLength);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint in task message");
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.AsyncDataPipeline.serializer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka serializer writing {@link TaskMessage} in a compact binary envelope.
+ * <p>
+ * Version 2 layout:
+ * <pre>
+ * byte     schema version (2)
+ * varlong  task id
+ * byte     status ordinal (statuses are only ever appended to TaskStatus)
+ * string   name
+ * byte     flags, bit 0 set when the payload is sent by reference
+ * string   payload, only present when it is inline
+ * varlong  creation time in epoch milliseconds plus one, 0 meaning unknown
+ * </pre>
+ * Version 1 is the same layout without the creation time.
+ * Strings are a varint of the UTF-8 length plus one, 0 meaning null, followed by the bytes.
+ * A new layout must bump {@link #CURRENT_VERSION} and be handled by {@link TaskMessageDeserializer}.
+ */
+public class TaskMessageSerializer implements Serializer<TaskMessage> {
+
+    public static final byte CURRENT_VERSION = 2;
+
+    static final int FLAG_PAYLOAD_BY_REFERENCE = 1;
+
+    @Override
+    public byte[] serialize(String topic, TaskMessage message) {
+        if (message == null) {
+            return null;
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64);
+        outputStream.write(CURRENT_VERSION);
+        writeVarLong(outputStream, message.getId());
+        outputStream.write(message.getStatus().ordinal());
+        writeString(outputStream, message.getName());
+        outputStream.write(message.isPayloadByReference() ? FLAG_PAYLOAD_BY_REFERENCE : 0);
+        if (!message.isPayloadByReference()) {
+            writeString(outputStream, message.getPayload());
+        }
+        writeVarLong(outputStream, message.getCreatedAt() == null ? 0 : message.getCreatedAt().toEpochMilli() + 1);
+        return outputStream.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream outputStream, String value) {
+        if (value == null) {
+            writeVarLong(outputStream, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(outputStream, bytes.length + 1L);
+        outputStream.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream outputStream, long value) {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+}
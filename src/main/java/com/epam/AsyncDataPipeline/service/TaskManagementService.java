@@ -1,26 +1,45 @@
 package com.epam.AsyncDataPipeline.service;
 
+import com.epam.AsyncDataPipeline.dto.TaskBatchSubmissionResponse;
+import com.epam.AsyncDataPipeline.dto.TaskCursorPageResponse;
 import com.epam.AsyncDataPipeline.dto.TaskManagementRequest;
 import com.epam.AsyncDataPipeline.dto.TaskManagementResponse;
 import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
 import com.epam.AsyncDataPipeline.dto.TaskStatisticsResponse;
+import com.epam.AsyncDataPipeline.dto.TaskStatusBatchResponse;
 import com.epam.AsyncDataPipeline.dto.TaskCreationResponse;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface TaskManagementService {
      CompletableFuture<TaskCreationResponse> submitTask(TaskManagementRequest taskManagement);
 
+     TaskBatchSubmissionResponse submitTasks(List<TaskManagementRequest> taskManagementRequests);
 
-     void updateTaskStatus(Long id, TaskStatus taskStatus);
+
+     boolean updateTaskStatus(Long id, TaskStatus taskStatus);
+
+     int updateTaskStatuses(Collection<Long> ids, TaskStatus from, TaskStatus to);
+
+     List<Long> startTasks(Collection<Long> ids);
 
      TaskStatisticsResponse getTaskStatistics();
 
      TaskManagementStatusResponse getTaskStatusById(Long id);
 
+     TaskStatusBatchResponse getTaskStatusesByIds(List<Long> ids);
+
      Page<TaskManagementResponse> getAllTasks(Pageable pageable);
+
+     TaskCursorPageResponse getTasksAfter(String after, int size, Sort.Order order);
+
+     long exportTasks(TaskStatus status, Long fromId, Long toId, OutputStream outputStream) throws IOException;
 }
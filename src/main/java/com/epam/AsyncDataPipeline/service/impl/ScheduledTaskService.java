@@ -0,0 +1,209 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.repository.TaskIdDueAt;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Holds SCHEDULED tasks until they are due and releases them to processing.
+ * <p>
+ * Due times are persisted in {@code due_at}; in memory every scheduled task is one entry in a
+ * {@link TimingWheel}, so scheduling is O(1) and millions of tasks cost a few bytes each. The wheel is
+ * advanced every {@code task.scheduler.tick-ms}, and the tasks that became due are released in batches:
+ * one transaction locks the batch with {@code FOR UPDATE SKIP LOCKED}, moves it to PENDING and writes its
+ * outbox entries, from where the {@link TaskOutboxRelay} dispatches it like any other task.
+ * <p>
+ * At startup every SCHEDULED task is loaded into the wheel, so schedules survive restarts. Several nodes
+ * may hold the same task; the lock and the status check make sure only one of them releases it. A sweep
+ * query releases tasks overdue by more than {@code task.scheduler.sweep-grace-ms}, which covers tasks
+ * held only by a node that went down.
+ */
+@Component
+public class ScheduledTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskService.class);
+
+    @Value("${task.scheduler.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${task.scheduler.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${task.scheduler.release-batch-size:500}")
+    private int releaseBatchSize;
+
+    @Value("${task.scheduler.sweep-grace-ms:30000}")
+    private long sweepGraceMs;
+
+    @Autowired
+    private TaskManagementRepository taskManagementRepository;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Guarded by this
+    private TimingWheel timingWheel;
+
+    private Counter releasedCounter;
+
+    @PostConstruct
+    public void init() {
+        timingWheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        Gauge.builder("tasks.scheduled.waiting", this, ScheduledTaskService::getWaitingCount)
+                .description("Scheduled tasks held in the timing wheel of this node")
+                .register(registry);
+        releasedCounter = Counter.builder("tasks.scheduled.released")
+                .description("Scheduled tasks released to processing by this node")
+                .register(registry);
+    }
+
+    /**
+     * Holds a SCHEDULED task until its due time, a task that is already due is released right away.
+     * Must be called once the task has been committed.
+     */
+    public void schedule(Long id, Instant dueAt) {
+        boolean added;
+        synchronized (this) {
+            added = timingWheel.add(id, dueAt.toEpochMilli());
+        }
+        if (!added) {
+            release(List.of(id));
+        }
+    }
+
+    /**
+     * Advances the timing wheel and releases the tasks that became due.
+     */
+    @Scheduled(fixedDelayString = "${task.scheduler.tick-ms:100}")
+    public void advance() {
+        List<Long> dueIds = new ArrayList<>();
+        synchronized (this) {
+            timingWheel.advance(System.currentTimeMillis(), dueIds::add);
+        }
+        release(dueIds);
+    }
+
+    /**
+     * Loads every SCHEDULED task into the timing wheel, releasing the ones that fell due while no node was running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadScheduledTasks() {
+        List<Long> dueIds = new ArrayList<>();
+        Long loadedTasks = transactionTemplate.execute(transactionStatus -> {
+            long loaded = 0;
+            try (Stream<TaskIdDueAt> scheduledTasks = taskManagementRepository.streamDueAtByStatus(TaskStatus.SCHEDULED)) {
+                for (TaskIdDueAt scheduledTask : (Iterable<TaskIdDueAt>) scheduledTasks::iterator) {
+                    boolean added;
+                    synchronized (this) {
+                        added = scheduledTask.getDueAt() != null
+                                && timingWheel.add(scheduledTask.getId(), scheduledTask.getDueAt().toEpochMilli());
+                    }
+                    if (!added) {
+                        dueIds.add(scheduledTask.getId());
+                    }
+                    loaded++;
+                }
+            }
+            return loaded;
+        });
+        logger.info("Loaded {} scheduled tasks, {} of them already due", loadedTasks, dueIds.size());
+        release(dueIds);
+    }
+
+    /**
+     * Releases the scheduled tasks that are overdue by more than the grace period, which no node released.
+     */
+    @Scheduled(initialDelayString = "${task.scheduler.sweep-interval-ms:60000}", fixedDelayString = "${task.scheduler.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant overdueBefore = Instant.now().minusMillis(sweepGraceMs);
+        List<Long> overdueIds;
+        do {
+            overdueIds = taskManagementRepository.findIdsByStatusAndDueAtBefore(TaskStatus.SCHEDULED, overdueBefore, Limit.of(releaseBatchSize));
+            if (!overdueIds.isEmpty()) {
+                logger.warn("Releasing {} scheduled tasks overdue by more than {} ms", overdueIds.size(), sweepGraceMs);
+            }
+        } while (release(overdueIds) == releaseBatchSize);
+    }
+
+    /**
+     * Moves the tasks that are still SCHEDULED to PENDING and queues them in the outbox, in batches.
+     *
+     * @return The number of tasks released.
+     */
+    int release(List<Long> ids) {
+        int released = 0;
+        for (int from = 0; from < ids.size(); from += releaseBatchSize) {
+            List<Long> batchIds = ids.subList(from, Math.min(ids.size(), from + releaseBatchSize));
+            try {
+                released += releaseBatch(batchIds);
+            } catch (RuntimeException exception) {
+                // The tasks stay SCHEDULED, the sweep releases them
+                logger.error("Failed to release {} scheduled tasks: {}", batchIds.size(), exception.getMessage());
+            }
+        }
+        return released;
+    }
+
+    private int releaseBatch(List<Long> ids) {
+        List<Long> releasedIds = transactionTemplate.execute(transactionStatus -> {
+            // Tasks locked by another node, or already released, are skipped
+            List<TaskManagement> tasks = taskManagementRepository.findByIdInAndStatus(ids, TaskStatus.SCHEDULED);
+            List<Long> taskIds = new ArrayList<>(tasks.size());
+            List<TaskOutbox> outboxEntries = new ArrayList<>(tasks.size());
+            for (TaskManagement task : tasks) {
+                // The task is managed, the new status is written on commit
+                task.setStatus(TaskStatus.PENDING);
+                taskIds.add(task.getId());
+                outboxEntries.add(new TaskOutbox(task.getId()));
+            }
+            taskOutboxRepository.saveAll(outboxEntries);
+            return taskIds;
+        });
+        if (releasedIds.isEmpty()) {
+            return 0;
+        }
+        taskStatisticsEngine.recordTransition(TaskStatus.SCHEDULED, TaskStatus.PENDING, releasedIds.size());
+        taskStatusCache.putAll(releasedIds, TaskStatus.PENDING);
+        releasedCounter.increment(releasedIds.size());
+        logger.info("Released {} scheduled tasks to processing", releasedIds.size());
+        return releasedIds.size();
+    }
+
+    public synchronized long getWaitingCount() {
+        return timingWheel.size();
+    }
+}
@@ -0,0 +1,153 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recovers tasks left PROCESSING by a consumer that crashed or lost its partition mid-task.
+ * <p>
+ * The consumers skip a redelivered task that is already PROCESSING, so without this such a task would never
+ * finish. Every {@code task.recovery.sweep-interval-ms} the tasks that started more than
+ * {@code processing-timeout-ms} ago and are still PROCESSING are taken as abandoned. In one transaction per
+ * batch they are locked with {@code FOR UPDATE SKIP LOCKED}, moved back to PENDING and written to the outbox,
+ * so the {@link TaskOutboxRelay} dispatches them again. A task submitted more than {@code max-task-age-ms} ago
+ * is marked FAILED instead, so a task that brings its consumer down is not re-dispatched forever.
+ * <p>
+ * A task that was only slow may run twice, so handlers must tolerate a second run. While the task is back in
+ * PENDING the slow run cannot complete it, its COMPLETED is rejected, although its failure still marks the task
+ * FAILED. Once the re-dispatched run moved the task to PROCESSING, runs are not told apart: the slow run may
+ * complete the task while the second one is still executing, and the second run's own finish is then rejected.
+ * Counts the recovered tasks in {@code tasks.recovered}, tagged with the outcome.
+ */
+@Component
+@ConditionalOnProperty(name = "task.recovery.enabled", havingValue = "true", matchIfMissing = true)
+public class StaleTaskRecoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleTaskRecoveryService.class);
+
+    @Value("${task.recovery.processing-timeout-ms:600000}")
+    private long processingTimeoutMs;
+
+    @Value("${task.recovery.max-task-age-ms:3600000}")
+    private long maxTaskAgeMs;
+
+    @Value("${task.recovery.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private TaskManagementRepository taskManagementRepository;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private TaskMetricsService taskMetricsService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Counter redispatchedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        redispatchedCounter = recoveredCounter("redispatched");
+        failedCounter = recoveredCounter("failed");
+    }
+
+    private Counter recoveredCounter(String outcome) {
+        return Counter.builder("tasks.recovered")
+                .description("Tasks found abandoned in PROCESSING and recovered")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Re-dispatches, or fails, the tasks that have been PROCESSING for longer than the processing timeout.
+     */
+    @Scheduled(initialDelayString = "${task.recovery.sweep-interval-ms:60000}", fixedDelayString = "${task.recovery.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant startedBefore = Instant.now().minusMillis(processingTimeoutMs);
+        List<Long> staleIds;
+        do {
+            staleIds = taskManagementRepository.findIdsByStatusAndStartedAtBefore(TaskStatus.PROCESSING, startedBefore, Limit.of(batchSize));
+        } while (!staleIds.isEmpty() && recover(staleIds, startedBefore) == staleIds.size() && staleIds.size() == batchSize);
+    }
+
+    /**
+     * Moves the given tasks that are still PROCESSING and started before {@code startedBefore} back to PENDING
+     * with an outbox entry, or to FAILED when they are too old.
+     *
+     * @return The number of tasks recovered.
+     */
+    int recover(List<Long> ids, Instant startedBefore) {
+        Instant now = Instant.now();
+        Instant submittedBefore = now.minusMillis(maxTaskAgeMs);
+        List<Long> redispatchedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            // Tasks locked by another node, or finished meanwhile, are skipped
+            List<TaskManagement> tasks = taskManagementRepository.findByIdInAndStatus(ids, TaskStatus.PROCESSING);
+            List<TaskOutbox> outboxEntries = new ArrayList<>(tasks.size());
+            for (TaskManagement task : tasks) {
+                if (task.getStartedAt() == null || task.getStartedAt().isAfter(startedBefore)) {
+                    continue;
+                }
+                // The tasks are managed, the new status is written on commit
+                if (task.getCreatedAt() != null && task.getCreatedAt().isBefore(submittedBefore)) {
+                    task.setStatus(TaskStatus.FAILED);
+                    task.setFinishedAt(now);
+                    failedIds.add(task.getId());
+                } else {
+                    task.setStatus(TaskStatus.PENDING);
+                    outboxEntries.add(new TaskOutbox(task.getId()));
+                    redispatchedIds.add(task.getId());
+                }
+            }
+            taskOutboxRepository.saveAll(outboxEntries);
+        });
+
+        if (!redispatchedIds.isEmpty()) {
+            logger.warn("Re-dispatching {} tasks PROCESSING for more than {} ms: {}", redispatchedIds.size(), processingTimeoutMs, redispatchedIds);
+            taskStatisticsEngine.recordTransition(TaskStatus.PROCESSING, TaskStatus.PENDING, redispatchedIds.size());
+            taskStatusCache.putAll(redispatchedIds, TaskStatus.PENDING);
+            redispatchedCounter.increment(redispatchedIds.size());
+        }
+        if (!failedIds.isEmpty()) {
+            logger.error("Failing {} abandoned tasks submitted more than {} ms ago: {}", failedIds.size(), maxTaskAgeMs, failedIds);
+            taskStatisticsEngine.recordTransition(TaskStatus.PROCESSING, TaskStatus.FAILED, failedIds.size());
+            taskMetricsService.recordStatusChange(TaskStatus.FAILED, failedIds.size());
+            taskStatusCache.putAll(failedIds, TaskStatus.FAILED);
+            failedCounter.increment(failedIds.size());
+        }
+        return redispatchedIds.size() + failedIds.size();
+    }
+}
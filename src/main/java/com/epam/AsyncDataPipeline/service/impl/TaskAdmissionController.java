@@ -0,0 +1,205 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.TaskSubmissionThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive admission control for task submissions, replacing a fixed requests-per-second limit.
+ * <p>
+ * Submissions are admitted while fewer than {@code limit} of them are in flight. The limit follows
+ * AIMD (additive increase, multiplicative decrease): every submission that completes within the target
+ * latency while the limit is in use raises it by {@code 1 / limit}, about one per round of submissions,
+ * and a slow or failed submission, or a sample showing the consumers falling behind, multiplies it by
+ * {@code backoff-ratio}. Throughput therefore grows to what the pipeline absorbs and backs off as soon
+ * as the database, the producer or the consumers stop keeping up.
+ * <p>
+ * Consumers falling behind is sampled every {@code sample-interval-ms} from the PENDING backlog of the
+ * {@link TaskStatisticsEngine} and from the largest record lag of this node's task consumers. Above
+ * {@code max-pending-tasks} submissions are shed outright until the backlog drains. Refused submissions
+ * throw {@link TaskSubmissionThrottledException}, answered with 429 and {@code Retry-After}.
+ */
+@Component
+public class TaskAdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskAdmissionController.class);
+
+    private static final String CONSUMER_LAG_METER = "kafka.consumer.fetch.manager.records.lag.max";
+
+    @Value("${task.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${task.admission.initial-limit:100}")
+    private int initialLimit;
+
+    @Value("${task.admission.min-limit:10}")
+    private int minLimit;
+
+    @Value("${task.admission.max-limit:5000}")
+    private int maxLimit;
+
+    @Value("${task.admission.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${task.admission.target-latency-ms:500}")
+    private long targetLatencyMs;
+
+    @Value("${task.admission.max-pending-tasks:100000}")
+    private long maxPendingTasks;
+
+    @Value("${task.admission.max-consumer-lag:10000}")
+    private double maxConsumerLag;
+
+    @Value("${task.admission.sample-interval-ms:1000}")
+    private long sampleIntervalMs;
+
+    @Autowired
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private volatile boolean backlogged;
+
+    // At most one decrease per sample interval, a burst of slow submissions is one congestion signal
+    private long lastDecreaseNanos;
+
+    private Counter rejectedByLimitCounter;
+    private Counter rejectedByBacklogCounter;
+
+    @PostConstruct
+    public void init() {
+        limit = initialLimit;
+        lastDecreaseNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sampleIntervalMs);
+        Gauge.builder("tasks.admission.limit", this, TaskAdmissionController::getLimit)
+                .description("Task submissions currently allowed in flight")
+                .register(registry);
+        Gauge.builder("tasks.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Task submissions currently in flight")
+                .register(registry);
+        rejectedByLimitCounter = rejectedCounter("limit");
+        rejectedByBacklogCounter = rejectedCounter("backlog");
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("tasks.admission.rejected")
+                .description("Task submissions refused by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Admits one submission. Every admitted submission must be followed by {@link #release}.
+     *
+     * @throws TaskSubmissionThrottledException when the submission is refused.
+     */
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        if (backlogged) {
+            rejectedByBacklogCounter.increment();
+            throw new TaskSubmissionThrottledException("Task processing is behind, please retry later");
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedByLimitCounter.increment();
+                throw new TaskSubmissionThrottledException("Too many task submissions in flight, please retry later");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted submission and adjusts the limit from its outcome.
+     *
+     * @param latencyNanos How long the submission took.
+     * @param succeeded    false when the submission failed or timed out.
+     */
+    public void release(long latencyNanos, boolean succeeded) {
+        if (!enabled) {
+            return;
+        }
+        int current = inFlight.getAndDecrement();
+        if (!succeeded || latencyNanos > TimeUnit.MILLISECONDS.toNanos(targetLatencyMs)) {
+            decrease(succeeded ? "submit latency above target" : "failed submission");
+        } else if (current * 2 >= limit) {
+            // Only grow a limit that is being used, an idle service would otherwise drift to the maximum
+            increase();
+        }
+    }
+
+    /**
+     * Samples the consumer side of the pipeline: a PENDING backlog or consumer lag above its bound lowers the limit.
+     */
+    @Scheduled(fixedDelayString = "${task.admission.sample-interval-ms:1000}")
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+        long pendingTasks = taskStatisticsEngine.getCount(TaskStatus.PENDING);
+        double consumerLag = getConsumerLag();
+        boolean wasBacklogged = backlogged;
+        backlogged = pendingTasks > maxPendingTasks;
+        if (backlogged != wasBacklogged) {
+            logger.warn("Task backlog {} {} the bound of {}, {} submissions", pendingTasks,
+                    backlogged ? "exceeds" : "is back under", maxPendingTasks, backlogged ? "shedding" : "admitting");
+        }
+        if (backlogged || consumerLag > maxConsumerLag) {
+            decrease("backlog " + pendingTasks + ", consumer lag " + (long) consumerLag);
+        }
+    }
+
+    private double getConsumerLag() {
+        double consumerLag = 0;
+        for (Gauge gauge : registry.find(CONSUMER_LAG_METER).gauges()) {
+            double value = gauge.value();
+            if (!Double.isNaN(value)) {
+                consumerLag = Math.max(consumerLag, value);
+            }
+        }
+        return consumerLag;
+    }
+
+    private synchronized void increase() {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+
+    private synchronized void decrease(String reason) {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < TimeUnit.MILLISECONDS.toNanos(sampleIntervalMs)) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        double previousLimit = limit;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        logger.info("Admission limit lowered from {} to {}: {}", (int) previousLimit, (int) limit, reason);
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
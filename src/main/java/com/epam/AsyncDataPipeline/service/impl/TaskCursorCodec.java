@@ -0,0 +1,134 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.InvalidCursorException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes and decodes the opaque cursor used by keyset pagination.
+ * A cursor is the Base64url encoded JSON of the sort field, the sort direction and the
+ * values of the sort field and the id of the last task returned, so the next page can be
+ * read with a {@code WHERE (sortKey, id) > (?, ?)} predicate instead of an OFFSET.
+ */
+@Component
+public class TaskCursorCodec {
+
+    public static final String ID_FIELD = "id";
+
+    private static final Set<String> SORT_FIELDS = Set.of(ID_FIELD, "name", "status");
+
+    private static final String SORT_BY = "sortBy";
+    private static final String SORT_DIR = "sortDir";
+    private static final String KEY = "key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Checks that the field can be used for keyset pagination.
+     *
+     * @param sortBy the sort field requested by the client
+     */
+    public void validateSortField(String sortBy) {
+        if (!SORT_FIELDS.contains(sortBy)) {
+            throw new InvalidCursorException("Unsupported sort field for cursor pagination: '" + sortBy
+                    + "'. Allowed values: " + String.join(", ", SORT_FIELDS) + ".");
+        }
+    }
+
+    /**
+     * Creates the cursor pointing after the given keyset position.
+     *
+     * @param position the keyset position of the last task in the page
+     * @param order    the sort order the page was read with
+     * @return the opaque cursor
+     */
+    public String encode(KeysetScrollPosition position, Sort.Order order) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put(SORT_BY, order.getProperty());
+        cursor.put(SORT_DIR, order.getDirection().name());
+        cursor.put(ID_FIELD, position.getKeys().get(ID_FIELD));
+        if (!ID_FIELD.equals(order.getProperty())) {
+            Object key = position.getKeys().get(order.getProperty());
+            cursor.put(KEY, key instanceof Enum<?> enumKey ? enumKey.name() : key);
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Failed to encode cursor", exception);
+        }
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode(KeysetScrollPosition, Sort.Order)}.
+     *
+     * @param cursor the opaque cursor sent by the client
+     * @return the sort order and the keyset position to continue from
+     */
+    public DecodedCursor decode(String cursor) {
+        Map<?, ?> values;
+        try {
+            values = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), Map.class);
+        } catch (IllegalArgumentException | IOException exception) {
+            throw new InvalidCursorException("Invalid cursor: '" + cursor + "'");
+        }
+
+        if (!(values.get(SORT_BY) instanceof String sortBy) || !(values.get(SORT_DIR) instanceof String sortDir)
+                || !(values.get(ID_FIELD) instanceof Number id)) {
+            throw new InvalidCursorException("Invalid cursor: '" + cursor + "'");
+        }
+        validateSortField(sortBy);
+
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!ID_FIELD.equals(sortBy)) {
+                keys.put(sortBy, toKey(sortBy, values.get(KEY), cursor));
+            }
+            keys.put(ID_FIELD, id.longValue());
+
+            Sort.Order order = new Sort.Order(Sort.Direction.fromString(sortDir), sortBy);
+            return new DecodedCursor(order, ScrollPosition.forward(keys));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException("Invalid cursor: '" + cursor + "'");
+        }
+    }
+
+    private Object toKey(String sortBy, Object key, String cursor) {
+        if (!(key instanceof String value)) {
+            throw new InvalidCursorException("Invalid cursor: '" + cursor + "'");
+        }
+        return "status".equals(sortBy) ? TaskStatus.valueOf(value) : value;
+    }
+
+    /**
+     * The sort order and keyset position carried by a cursor.
+     */
+    public static class DecodedCursor {
+
+        private final Sort.Order order;
+        private final KeysetScrollPosition position;
+
+        public DecodedCursor(Sort.Order order, KeysetScrollPosition position) {
+            this.order = order;
+            this.position = position;
+        }
+
+        public Sort.Order getOrder() {
+            return order;
+        }
+
+        public KeysetScrollPosition getPosition() {
+            return position;
+        }
+    }
+}
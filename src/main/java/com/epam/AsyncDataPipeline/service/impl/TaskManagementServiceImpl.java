@@ -1,35 +1,60 @@
 package com.epam.AsyncDataPipeline.service.impl;
 
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
 import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskBatchItemResponse;
+import com.epam.AsyncDataPipeline.dto.TaskBatchSubmissionResponse;
+import com.epam.AsyncDataPipeline.dto.TaskCursorPageResponse;
 import com.epam.AsyncDataPipeline.dto.TaskManagementRequest;
 import com.epam.AsyncDataPipeline.dto.TaskManagementResponse;
 import com.epam.AsyncDataPipeline.dto.TaskCreationResponse;
 import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
 import com.epam.AsyncDataPipeline.dto.TaskStatisticsResponse;
+import com.epam.AsyncDataPipeline.dto.TaskStatusBatchResponse;
 import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
-import com.epam.AsyncDataPipeline.exception.TaskNotFoundException;
+import com.epam.AsyncDataPipeline.exception.InvalidTaskIdsException;
 import com.epam.AsyncDataPipeline.exception.TaskProcessingException;
+import com.epam.AsyncDataPipeline.exception.TaskSubmissionThrottledException;
 import com.epam.AsyncDataPipeline.mapper.EntityToModelMapper;
 import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
 import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.resilience4j.retry.annotation.Retry;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TaskManagementService interface.
@@ -39,57 +64,192 @@ import java.util.stream.Collectors;
 @Service
 public class TaskManagementServiceImpl implements TaskManagementService {
 
-    @Value("${spring.kafka.topic.name}")
-    private String topicName;
     @Autowired
     private EntityToModelMapper entityToModelMapper;
     @Autowired
     private TaskManagementRepository taskManagementRepository;
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskOutboxBacklog taskOutboxBacklog;
 
     @Autowired
     private TaskMetricsService taskMetricsService;
 
+    @Autowired
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Autowired
+    private TaskCursorCodec taskCursorCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.SUBMISSION_EXECUTOR)
+    private Executor taskSubmissionExecutor;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private ScheduledTaskService scheduledTaskService;
+
     private static final Logger logger = LoggerFactory.getLogger(TaskManagementServiceImpl.class);
 
 
     /**
-     * Submits a new task for asynchronous processing and sends it to Kafka.
+     * Submits a new task for asynchronous processing.
+     * The task and its outbox entry are written in one transaction, the {@link TaskOutboxRelay} publishes
+     * the task ID to Kafka afterwards, so a task is never committed without being dispatched and the
+     * request does not wait for a broker acknowledgement.
+     * A task with a future {@code runAt} or a {@code delayMs} is persisted SCHEDULED and handed to the
+     * {@link ScheduledTaskService}, which releases it when it is due.
+     * Submissions are refused with {@link TaskSubmissionThrottledException} while the outbox is backed up, see {@link TaskOutboxBacklog}.
      * If there is an exception while processing the task, it retries 3 times before falling back
-     * Transaction management to rollback, the saved transaction if kafka send fails
      * @param taskManagementRequest The task request containing name and payload.
      */
     @Override
-    @Transactional
     @Retry(name = "taskServiceRetry", fallbackMethod = "taskServiceFallback")
     public CompletableFuture<TaskCreationResponse> submitTask(TaskManagementRequest taskManagementRequest) {
+        checkDispatchBackpressure();
+        long submitStart = System.nanoTime();
         return CompletableFuture.supplyAsync(() -> {
             logger.info("Submitting task: {}", taskManagementRequest.getName());
 
             // Convert DTO to Entity
-            TaskManagement task = entityToModelMapper.mapRequestToEntity(taskManagementRequest);
-            task.setStatus(TaskStatus.PENDING);
-
-            // Persist to DB
-            TaskManagement savedTask = taskManagementRepository.save(task);
+            TaskManagement task = toTask(taskManagementRequest, Instant.now());
+            TaskStatus status = task.getStatus();
+
+            // Persist the task and its outbox entry atomically, a scheduled task gets its entry when it is released
+            long insertStart = System.nanoTime();
+            TaskManagement savedTask = transactionTemplate.execute(transactionStatus -> {
+                TaskManagement persistedTask = taskManagementRepository.save(task);
+                if (status == TaskStatus.PENDING) {
+                    taskOutboxRepository.save(new TaskOutbox(persistedTask.getId()));
+                }
+                return persistedTask;
+            });
+            taskMetricsService.recordInsert(false, System.nanoTime() - insertStart);
             logger.info("Task persisted with ID: {}", savedTask.getId());
-
-            // Send to Kafka
-            sendToKafka(savedTask.getId().toString());
+            taskStatisticsEngine.recordCreated(status);
+            taskStatusCache.put(savedTask.getId(), status);
+            if (status == TaskStatus.SCHEDULED) {
+                scheduledTaskService.schedule(savedTask.getId(), savedTask.getDueAt());
+            }
 
             // Increment metrics
             taskMetricsService.incrementTasksSubmitted();
+            taskMetricsService.recordSubmit(false, System.nanoTime() - submitStart);
+
+            return new TaskCreationResponse(savedTask.getId(), savedTask.getName(), TaskManagementConstants.TASK_CREATION_MESSAGE);
+        }, taskSubmissionExecutor);
+    }
+
+    /**
+     * Submits a batch of tasks for asynchronous processing.
+     * All tasks and their outbox entries are persisted in a single transaction using JDBC insert batching.
+     * Publishing to Kafka is left to the {@link TaskOutboxRelay}, which drains the outbox in batches.
+     *
+     * @param taskManagementRequests The task requests containing name and payload.
+     * @return The per-item results, in request order.
+     */
+    @Override
+    public TaskBatchSubmissionResponse submitTasks(List<TaskManagementRequest> taskManagementRequests) {
+        checkDispatchBackpressure();
+        long submitStart = System.nanoTime();
+        logger.info("Submitting batch of {} tasks", taskManagementRequests.size());
+
+        Instant now = Instant.now();
+        List<TaskManagement> tasks = new ArrayList<>(taskManagementRequests.size());
+        for (TaskManagementRequest taskManagementRequest : taskManagementRequests) {
+            tasks.add(toTask(taskManagementRequest, now));
+        }
 
-            return new TaskCreationResponse(savedTask.getName(), "Task Management Initiation Started");
+        // Persist the tasks and the outbox entries of the pending ones atomically
+        long insertStart = System.nanoTime();
+        List<TaskManagement> savedTasks = transactionTemplate.execute(transactionStatus -> {
+            List<TaskManagement> persistedTasks = taskManagementRepository.saveAll(tasks);
+            List<TaskOutbox> outboxEntries = new ArrayList<>(persistedTasks.size());
+            for (TaskManagement persistedTask : persistedTasks) {
+                if (persistedTask.getStatus() == TaskStatus.PENDING) {
+                    outboxEntries.add(new TaskOutbox(persistedTask.getId()));
+                }
+            }
+            taskOutboxRepository.saveAll(outboxEntries);
+            return persistedTasks;
         });
+        taskMetricsService.recordInsert(true, System.nanoTime() - insertStart);
+        logger.info("Persisted batch of {} tasks", savedTasks.size());
+        taskMetricsService.incrementTasksSubmitted(savedTasks.size());
+
+        List<TaskBatchItemResponse> results = new ArrayList<>(savedTasks.size());
+        List<Long> pendingTaskIds = new ArrayList<>(savedTasks.size());
+        List<Long> scheduledTaskIds = new ArrayList<>();
+        for (int index = 0; index < savedTasks.size(); index++) {
+            TaskManagement savedTask = savedTasks.get(index);
+            if (savedTask.getStatus() == TaskStatus.SCHEDULED) {
+                scheduledTaskIds.add(savedTask.getId());
+                scheduledTaskService.schedule(savedTask.getId(), savedTask.getDueAt());
+            } else {
+                pendingTaskIds.add(savedTask.getId());
+            }
+            results.add(new TaskBatchItemResponse(index, savedTask.getId(), savedTask.getName(),
+                    savedTask.getStatus(), TaskManagementConstants.TASK_CREATION_MESSAGE));
+        }
+
+        taskStatisticsEngine.recordCreated(TaskStatus.PENDING, pendingTaskIds.size());
+        taskStatusCache.putAll(pendingTaskIds, TaskStatus.PENDING);
+        if (!scheduledTaskIds.isEmpty()) {
+            taskStatisticsEngine.recordCreated(TaskStatus.SCHEDULED, scheduledTaskIds.size());
+            taskStatusCache.putAll(scheduledTaskIds, TaskStatus.SCHEDULED);
+        }
+        taskMetricsService.recordSubmit(true, System.nanoTime() - submitStart);
+
+        logger.info("Batch submitted: {} tasks queued for dispatch", savedTasks.size());
+        return new TaskBatchSubmissionResponse(savedTasks.size(), results);
+    }
+
+    /**
+     * Maps a request to a new task, SCHEDULED with its due time when it should not run right away.
+     */
+    private TaskManagement toTask(TaskManagementRequest taskManagementRequest, Instant now) {
+        TaskManagement task = entityToModelMapper.mapRequestToEntity(taskManagementRequest);
+        Instant dueAt = taskManagementRequest.resolveDueAt(now);
+        if (dueAt != null && dueAt.isAfter(now)) {
+            task.setStatus(TaskStatus.SCHEDULED);
+            task.setDueAt(dueAt);
+        } else {
+            task.setStatus(TaskStatus.PENDING);
+        }
+        return task;
+    }
+
+    private void checkDispatchBackpressure() {
+        if (taskOutboxBacklog.isOverloaded()) {
+            logger.warn("Task dispatch is behind: {} outbox entries, oldest {} ms old",
+                    taskOutboxBacklog.getBacklog(), taskOutboxBacklog.getOldestAgeMs());
+            throw new TaskSubmissionThrottledException("Task dispatch is behind, please retry later");
+        }
     }
 
-    private void sendToKafka(String taskId) {
-        kafkaTemplate.send(topicName, taskId);
-        logger.info("Task ID {} sent to Kafka", taskId);
+    private CompletableFuture<TaskCreationResponse> taskServiceFallback(TaskManagementRequest taskManagementRequest, TaskSubmissionThrottledException exception) {
+        // Refused before anything was persisted so there is no task to fail
+        throw exception;
+    }
 
+    private CompletableFuture<TaskCreationResponse> taskServiceFallback(TaskManagementRequest taskManagementRequest, RejectedExecutionException exception) {
+        // The submission executor is saturated, nothing was persisted so there is no task to fail
+        logger.warn("Submission executor rejected task: {}", taskManagementRequest.getName());
+        throw exception;
     }
 
     private CompletableFuture<TaskCreationResponse> taskServiceFallback(TaskManagementRequest taskManagementRequest, Exception exception) {
@@ -98,10 +258,12 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         // Persist to DB with failed status
         TaskManagement taskManagement = entityToModelMapper.mapRequestToEntity(taskManagementRequest);
         taskManagement.setStatus(TaskStatus.FAILED);
-        taskManagementRepository.save(taskManagement);
+        TaskManagement failedTask = taskManagementRepository.save(taskManagement);
+        taskStatisticsEngine.recordCreated(TaskStatus.FAILED);
+        taskStatusCache.put(failedTask.getId(), TaskStatus.FAILED);
 
         //Inc failed metrics
-        taskMetricsService.incrementTasksFailed();
+        taskMetricsService.recordStatusChange(TaskStatus.FAILED, 1);
 
         //throw exception in the fallback
         throw new TaskProcessingException("Failed to process task: " + exception.getMessage());
@@ -109,19 +271,48 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
 
     /**
-     * Retrieves the status of a specific task by its ID, with caching enabled.
+     * Retrieves the status of a specific task by its ID from the {@link TaskStatusCache}.
+     * Concurrent lookups of an uncached task share one database read and unknown IDs are
+     * negatively cached for a few seconds.
      *
      * @param id The task ID.
      * @return The status response of the task.
      */
     @Override
-    @Cacheable(value = "taskManagement", key = "#id")
     public TaskManagementStatusResponse getTaskStatusById(Long id) {
         logger.info("Fetching task with ID: {}", id);
-        TaskManagement taskManagementEntity = taskManagementRepository.findById(id).orElseThrow(() -> new TaskNotFoundException("Task with id " + id + " not found"));
+        TaskManagementStatusResponse taskManagementStatusResponse = taskStatusCache.get(id);
 
         logger.info("Task with ID {} found. Returning details.", id);
-        return entityToModelMapper.mapEntityToStatusDto(taskManagementEntity);
+        return taskManagementStatusResponse;
+    }
+
+    /**
+     * Retrieves the statuses of many tasks at once from the {@link TaskStatusCache}.
+     * Cached statuses are resolved in one cache lookup and all misses are loaded with a single IN query.
+     *
+     * @param ids The task IDs, at most {@link TaskManagementConstants#MAX_BATCH_SIZE}.
+     * @return The statuses of the tasks found, and the IDs of the tasks that do not exist.
+     * @throws InvalidTaskIdsException if no IDs or too many IDs are given.
+     */
+    @Override
+    public TaskStatusBatchResponse getTaskStatusesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidTaskIdsException("At least one task id is required");
+        }
+        if (ids.size() > TaskManagementConstants.MAX_BATCH_SIZE) {
+            throw new InvalidTaskIdsException("At most " + TaskManagementConstants.MAX_BATCH_SIZE + " task ids can be fetched at once");
+        }
+        logger.info("Fetching status of {} tasks", ids.size());
+
+        Map<Long, TaskManagementStatusResponse> statuses = taskStatusCache.getAll(ids);
+        List<Long> notFoundIds = ids.stream()
+                .distinct()
+                .filter(id -> !statuses.containsKey(id))
+                .toList();
+
+        logger.info("Returning status of {} tasks, {} not found", statuses.size(), notFoundIds.size());
+        return new TaskStatusBatchResponse(statuses, notFoundIds);
     }
 
     /**
@@ -143,61 +334,208 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     }
 
     /**
-     * Updates the status of a task and evicts the cache entry.
+     * Retrieves one page of tasks using keyset (cursor) pagination.
+     * The page is read with a seek predicate on the sort key and id of the previous page's last task,
+     * so deep pages cost the same as the first one and no count query is issued.
+     * @param after the cursor returned with the previous page, or null for the first page
+     * @param size  the maximum number of tasks to return
+     * @param order the sort order for the first page, a cursor carries its own sort order
+     * @return the tasks and the cursor for the next page
+     */
+    @Override
+    public TaskCursorPageResponse getTasksAfter(String after, int size, Sort.Order order) {
+        ScrollPosition position = ScrollPosition.keyset();
+        if (after != null && !after.isBlank()) {
+            TaskCursorCodec.DecodedCursor decodedCursor = taskCursorCodec.decode(after);
+            order = decodedCursor.getOrder();
+            position = decodedCursor.getPosition();
+        } else {
+            taskCursorCodec.validateSortField(order.getProperty());
+        }
+        logger.info("Fetching tasks with cursor pagination: size={}, sort={}, position={}", size, order, position);
+
+        Sort sort = Sort.by(order);
+        if (!TaskCursorCodec.ID_FIELD.equals(order.getProperty())) {
+            sort = sort.and(Sort.by(order.getDirection(), TaskCursorCodec.ID_FIELD)); // id breaks ties between equal sort keys
+        }
+        Window<TaskManagement> window = taskManagementRepository.findBy(position, sort, Limit.of(size));
+
+        logger.info("Retrieved {} tasks from the database, hasNext={}", window.size(), window.hasNext());
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = taskCursorCodec.encode((KeysetScrollPosition) window.positionAt(window.size() - 1), order);
+        }
+        return new TaskCursorPageResponse(entityToModelMapper.mapEntityToDtoList(window.getContent()), nextCursor, window.hasNext());
+    }
+
+    /**
+     * Writes the matching tasks to the output stream as newline-delimited JSON, in id order.
+     * Rows are read through a database cursor with a fixed fetch size and each entity is detached
+     * once written, so memory use does not depend on the number of exported tasks.
+     * @param status       only export tasks with this status, or all tasks when null
+     * @param fromId       the lowest task id to export, inclusive
+     * @param toId         the highest task id to export, inclusive
+     * @param outputStream the stream the NDJSON lines are written to
+     * @return the number of exported tasks
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskStatus status, Long fromId, Long toId, OutputStream outputStream) throws IOException {
+        long lowerBound = fromId == null ? 0L : fromId;
+        long upperBound = toId == null ? Long.MAX_VALUE : toId;
+        logger.info("Exporting tasks with status={}, fromId={}, toId={}", status, lowerBound, upperBound);
+
+        ObjectWriter objectWriter = objectMapper.writerFor(TaskManagementResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exportedTasks = 0;
+        try (Stream<TaskManagement> tasks = status == null
+                ? taskManagementRepository.streamByIdBetweenOrderByIdAsc(lowerBound, upperBound)
+                : taskManagementRepository.streamByStatusAndIdBetweenOrderByIdAsc(status, lowerBound, upperBound);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .setRootValueSeparator(null)) {
+
+            for (TaskManagement task : (Iterable<TaskManagement>) tasks::iterator) {
+                objectWriter.writeValue(generator, entityToModelMapper.mapEntityToDto(task));
+                generator.writeRaw('\n');
+                entityManager.detach(task);
+
+                if (++exportedTasks % TaskManagementConstants.EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        logger.info("Exported {} tasks", exportedTasks);
+        return exportedTasks;
+    }
+
+    /**
+     * Updates the status of a task and writes the new status through to the cache.
+     * The transition is applied with a conditional UPDATE that only matches when the task is in one of the
+     * statuses allowed by {@link TaskStatus#getAllowedPredecessors()}, so no read is needed and a redelivered
+     * or concurrent update cannot overwrite a newer status. Sources are tried most frequent first, which
+     * costs a single round trip for every transition of the normal lifecycle. The same statement stamps
+     * {@code started_at} when processing starts and {@code finished_at} when it ends.
      *
      * @param id         The task ID.
      * @param taskStatus The new status of the task.
+     * @return true if the transition was applied, false if the task does not exist or the transition is not allowed.
      */
-    @CacheEvict(value = "taskManagement", key = "#id")
-    public void updateTaskStatus(Long id, TaskStatus taskStatus) {
+    @Override
+    public boolean updateTaskStatus(Long id, TaskStatus taskStatus) {
         logger.info("Updating status for task ID: {} to {}", id, taskStatus);
 
-        TaskManagement taskManagement = taskManagementRepository.findById(id).orElseThrow(() -> new TaskNotFoundException("Task with ID " + id + " not found"));
-
-        if (taskStatus.equals(TaskStatus.COMPLETED)) {
-            taskMetricsService.incrementTasksCompleted();
+        for (TaskStatus previousStatus : taskStatus.getAllowedPredecessors()) {
+            if (applyTransition(id, previousStatus, taskStatus) == 1) {
+                taskMetricsService.recordStatusChange(taskStatus, 1);
+                taskStatisticsEngine.recordTransition(previousStatus, taskStatus);
+                taskStatusCache.put(id, taskStatus);
+                logger.info("Task ID {} status updated from {} to {}", id, previousStatus, taskStatus);
+                return true;
+            }
         }
-        taskManagement.setStatus(taskStatus);
-        taskManagementRepository.save(taskManagement);
-        logger.info("Task ID {} status updated to {}", id, taskStatus);
+
+        logger.warn("Transition of task ID {} to {} rejected, task not found or not in one of {}",
+                id, taskStatus, taskStatus.getAllowedPredecessors());
+        return false;
     }
 
     /**
-     * Computes and returns task statistics, including total, completed, and failed tasks.
+     * Moves a set of tasks from one status to another with a single UPDATE statement and writes the
+     * new status through to the cache in bulk. Tasks that are not in the expected status are left
+     * untouched; when some of them were skipped the statement does not say which, so the cache
+     * entries of the whole set are evicted instead.
      *
-     * @return A response containing task statistics.
+     * @param ids  The task IDs.
+     * @param from The status the tasks are expected to be in.
+     * @param to   The new status of the tasks.
+     * @return The number of tasks whose status was updated.
      */
     @Override
-    public TaskStatisticsResponse getTaskStatistics() {
-        logger.info("Fetching all tasks from the database");
-        List<TaskManagement> tasks = taskManagementRepository.findAll();
+    public int updateTaskStatuses(Collection<Long> ids, TaskStatus from, TaskStatus to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Transition from " + from + " to " + to + " is not allowed");
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        logger.info("Updating status for {} tasks from {} to {}", ids.size(), from, to);
 
-        long totalTasks = tasks.size();
+        int updatedTasks = applyTransition(ids, from, to);
+        if (updatedTasks == ids.size()) {
+            taskStatusCache.putAll(ids, to);
+        } else {
+            taskStatusCache.evictAll(ids);
+        }
+
+        taskStatisticsEngine.recordTransition(from, to, updatedTasks);
+        taskMetricsService.recordStatusChange(to, updatedTasks);
+        logger.info("{} of {} tasks updated from {} to {}", updatedTasks, ids.size(), from, to);
+        return updatedTasks;
+    }
 
-        logger.info("Total tasks retrieved: {}", totalTasks);
-        Map<TaskStatus, Long> taskCountMap = tasks.stream()
-                .collect(Collectors.groupingBy(TaskManagement::getStatus, Collectors.counting()));
+    /**
+     * Moves the given PENDING tasks to PROCESSING and reports which ones moved. The tasks are locked with
+     * {@code SELECT ... FOR UPDATE SKIP LOCKED} and moved with one UPDATE in the same transaction, so a task
+     * being started elsewhere, or no longer PENDING, is left out and is not processed twice.
+     *
+     * @param ids The task IDs.
+     * @return The IDs of the tasks that moved to PROCESSING.
+     */
+    @Override
+    public List<Long> startTasks(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> startedIds = transactionTemplate.execute(transactionStatus -> {
+            List<Long> pendingIds = taskManagementRepository.findByIdInAndStatus(ids, TaskStatus.PENDING).stream()
+                    .map(TaskManagement::getId)
+                    .toList();
+            if (!pendingIds.isEmpty()) {
+                taskManagementRepository.startByIdInAndStatus(pendingIds, TaskStatus.PENDING, TaskStatus.PROCESSING, Instant.now());
+            }
+            return pendingIds;
+        });
 
-        long completedTasks = taskCountMap.getOrDefault(TaskStatus.COMPLETED, TaskManagementConstants.DEFAULT_COUNT);
-        long failedTasks = taskCountMap.getOrDefault(TaskStatus.FAILED, TaskManagementConstants.DEFAULT_COUNT);
+        taskStatusCache.putAll(startedIds, TaskStatus.PROCESSING);
+        taskStatisticsEngine.recordTransition(TaskStatus.PENDING, TaskStatus.PROCESSING, startedIds.size());
+        taskMetricsService.recordStatusChange(TaskStatus.PROCESSING, startedIds.size());
+        logger.info("{} of {} tasks moved from PENDING to PROCESSING", startedIds.size(), ids.size());
+        return startedIds;
+    }
 
-        logger.info("Completed tasks: {}", completedTasks);
-        logger.info("Failed tasks: {}", failedTasks);
+    private int applyTransition(Long id, TaskStatus from, TaskStatus to) {
+        return switch (to) {
+            case PROCESSING -> taskManagementRepository.startByIdAndStatus(id, from, to, Instant.now());
+            case COMPLETED, FAILED -> taskManagementRepository.finishByIdAndStatus(id, from, to, Instant.now());
+            default -> taskManagementRepository.updateStatusByIdAndStatus(id, from, to);
+        };
+    }
 
-        double successRate = totalTasks == 0 ? 0 : (completedTasks * TaskManagementConstants.PERCENTAGE_MULTIPLIER) / totalTasks;
-        double failureRate = totalTasks == 0 ? 0 : (failedTasks * TaskManagementConstants.PERCENTAGE_MULTIPLIER) / totalTasks;
+    private int applyTransition(Collection<Long> ids, TaskStatus from, TaskStatus to) {
+        return switch (to) {
+            case PROCESSING -> taskManagementRepository.startByIdInAndStatus(ids, from, to, Instant.now());
+            case COMPLETED, FAILED -> taskManagementRepository.finishByIdInAndStatus(ids, from, to, Instant.now());
+            default -> taskManagementRepository.updateStatusByIdInAndStatus(ids, from, to);
+        };
+    }
 
+    /**
+     * Returns task statistics, including total, completed, and failed tasks.
+     * The counts are served from the in-memory {@link TaskStatisticsEngine}, so no rows are loaded.
+     *
+     * @return A response containing task statistics.
+     */
+    @Override
+    public TaskStatisticsResponse getTaskStatistics() {
+        TaskStatisticsResponse taskStatisticsResponse = taskStatisticsEngine.getStatistics();
 
-        logger.info("Success rate: is {}", successRate);
-        logger.info("Failure rate: is {}", failureRate);
+        logger.info("Total tasks: {}, completed tasks: {}, failed tasks: {}", taskStatisticsResponse.getTotalTasks(),
+                taskStatisticsResponse.getCompletedTasks(), taskStatisticsResponse.getFailedTasks());
 
-        return new TaskStatisticsResponse(
-                totalTasks,
-                completedTasks,
-                failedTasks,
-                successRate,
-                failureRate
-        );
+        return taskStatisticsResponse;
     }
 
 
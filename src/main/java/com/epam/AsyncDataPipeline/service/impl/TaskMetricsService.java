@@ -1,16 +1,28 @@
 package com.epam.AsyncDataPipeline.service.impl;
 
 
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Service for tracking task-related metrics using Micrometer.
  * This service maintains counters for tracking the number of tasks submitted,
  * completed, and failed. The counters are registered with a meterRegistry
- * and can be incremented as tasks are processed.
+ * and can be incremented as tasks are processed. Completed and failed tasks are
+ * only counted by {@code TaskManagementService}, when the status transition is applied.
+ * <p>
+ * Every stage of a task also has a timer with a percentile histogram: submit, DB insert,
+ * Kafka send, queue wait (created to started) and processing (started to finished).
  */
 @Component
 public class TaskMetricsService {
@@ -21,6 +33,15 @@ public class TaskMetricsService {
     private  Counter tasksSubmittedCounter;
     private  Counter tasksCompletedCounter;
     private  Counter tasksFailedCounter;
+    private  Timer dispatchLatencyTimer;
+    private  Timer submitSingleTimer;
+    private  Timer submitBatchTimer;
+    private  Timer insertSingleTimer;
+    private  Timer insertBatchTimer;
+    private  Timer queueWaitTimer;
+    private  Timer processingCompletedTimer;
+    private  Timer processingFailedTimer;
+    private  DistributionSummary dispatchBatchSizeSummary;
 
     @PostConstruct
     public void initMetrics() {
@@ -33,18 +54,85 @@ public class TaskMetricsService {
         tasksFailedCounter = Counter.builder("tasks.failed")
                 .description("Total number of tasks failed")
                 .register(registry);
+        dispatchLatencyTimer = Timer.builder("tasks.dispatch.latency")
+                .description("Time from handing a task ID to the Kafka producer until the broker acknowledged it")
+                .publishPercentileHistogram()
+                .register(registry);
+        submitSingleTimer = stageTimer("tasks.submit.latency", "Time to accept a submit request, until the task is persisted", "type", "single");
+        submitBatchTimer = stageTimer("tasks.submit.latency", "Time to accept a submit request, until the task is persisted", "type", "batch");
+        insertSingleTimer = stageTimer("tasks.db.insert.latency", "Time of the transaction inserting tasks and their outbox entries", "type", "single");
+        insertBatchTimer = stageTimer("tasks.db.insert.latency", "Time of the transaction inserting tasks and their outbox entries", "type", "batch");
+        queueWaitTimer = Timer.builder("tasks.queue.wait")
+                .description("Time from task creation until a consumer started processing it")
+                .publishPercentileHistogram()
+                .register(registry);
+        processingCompletedTimer = stageTimer("tasks.processing.duration", "Time from the start of processing until the task finished", "outcome", "completed");
+        processingFailedTimer = stageTimer("tasks.processing.duration", "Time from the start of processing until the task finished", "outcome", "failed");
+        dispatchBatchSizeSummary = DistributionSummary.builder("tasks.dispatch.batch.size")
+                .description("Number of task IDs sent to Kafka per producer flush")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer stageTimer(String name, String description, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     public void incrementTasksSubmitted() {
         tasksSubmittedCounter.increment();
     }
 
-    public void incrementTasksCompleted() {
-        tasksCompletedCounter.increment();
+    public void incrementTasksSubmitted(long count) {
+        tasksSubmittedCounter.increment(count);
+    }
+
+    public void recordDispatchLatency(long nanos) {
+        dispatchLatencyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDispatchBatchSize(int batchSize) {
+        dispatchBatchSizeSummary.record(batchSize);
+    }
+
+    public void recordSubmit(boolean batch, long nanos) {
+        (batch ? submitBatchTimer : submitSingleTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordInsert(boolean batch, long nanos) {
+        (batch ? insertBatchTimer : insertSingleTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how long a task waited between its creation and the start of processing.
+     * Tasks without a creation time (messages published before it was sent) are not recorded.
+     */
+    public void recordQueueWait(Instant createdAt, Instant startedAt) {
+        if (createdAt != null) {
+            queueWaitTimer.record(Duration.between(createdAt, startedAt));
+        }
+    }
+
+    /**
+     * Records how long a task was processing before it reached {@code outcome} (COMPLETED or FAILED).
+     */
+    public void recordProcessing(Instant startedAt, Instant finishedAt, TaskStatus outcome) {
+        (outcome == TaskStatus.COMPLETED ? processingCompletedTimer : processingFailedTimer)
+                .record(Duration.between(startedAt, finishedAt));
     }
 
-    public void incrementTasksFailed() {
-        tasksFailedCounter.increment();
+    /**
+     * Counts tasks that were just moved to {@code status}: COMPLETED and FAILED are counted, other statuses are not.
+     */
+    public void recordStatusChange(TaskStatus status, long count) {
+        if (status == TaskStatus.COMPLETED) {
+            tasksCompletedCounter.increment(count);
+        } else if (status == TaskStatus.FAILED) {
+            tasksFailedCounter.increment(count);
+        }
     }
 
 
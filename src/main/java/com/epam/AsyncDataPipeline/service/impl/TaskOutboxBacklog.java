@@ -0,0 +1,90 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Tracks how far task dispatch is behind from the outbox: the number of entries the {@link TaskOutboxRelay}
+ * has not had acknowledged by Kafka yet and the age of the oldest one waiting for a relay. Both grow as soon
+ * as the producer or the broker fall behind, whichever node runs the relay, so submissions are refused while
+ * either is above {@code task.outbox.backpressure.max-backlog} or {@code max-oldest-age-ms}. An entry held back
+ * after a failed send does not count towards the age, one undeliverable task must not refuse every submission.
+ * <p>
+ * They are sampled every {@code check-interval-ms} rather than queried per submission. Publishes
+ * {@code tasks.outbox.backlog} and {@code tasks.outbox.oldest.age} (seconds).
+ */
+@Component
+public class TaskOutboxBacklog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutboxBacklog.class);
+
+    @Value("${task.outbox.backpressure.max-backlog:50000}")
+    private long maxBacklog;
+
+    @Value("${task.outbox.backpressure.max-oldest-age-ms:60000}")
+    private long maxOldestAgeMs;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private volatile long backlog;
+
+    private volatile Instant oldestCreatedAt;
+
+    private volatile boolean overloaded;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("tasks.outbox.backlog", this, TaskOutboxBacklog::getBacklog)
+                .description("Outbox entries not acknowledged by Kafka yet")
+                .register(registry);
+        Gauge.builder("tasks.outbox.oldest.age", this, outboxBacklog -> outboxBacklog.getOldestAgeMs() / 1000.0)
+                .description("Age of the oldest outbox entry waiting for a relay")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Samples the outbox size and the creation time of its oldest entry available to a relay.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.backpressure.check-interval-ms:1000}")
+    public void sample() {
+        backlog = taskOutboxRepository.count();
+        oldestCreatedAt = taskOutboxRepository.findOldestAvailableCreatedAt(Instant.now());
+        boolean wasOverloaded = overloaded;
+        overloaded = backlog >= maxBacklog || getOldestAgeMs() >= maxOldestAgeMs;
+        if (overloaded != wasOverloaded) {
+            logger.warn("Outbox backlog of {} entries, oldest {} ms old, {} submissions", backlog, getOldestAgeMs(),
+                    overloaded ? "refusing" : "accepting");
+        }
+    }
+
+    /**
+     * @return true when the outbox held too many entries or too old an entry at the last sample.
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public long getBacklog() {
+        return backlog;
+    }
+
+    public long getOldestAgeMs() {
+        Instant oldest = oldestCreatedAt;
+        return oldest == null ? 0 : Math.max(0, Instant.now().toEpochMilli() - oldest.toEpochMilli());
+    }
+}
@@ -0,0 +1,218 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskDispatchProducer;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the tasks written to the outbox by {@link TaskManagementServiceImpl} to Kafka.
+ * <p>
+ * Each batch takes two short transactions around the sends. The first claims the oldest available entries
+ * with {@code FOR UPDATE SKIP LOCKED}, pushes their {@code available_at} out by {@code task.outbox.claim-timeout-ms}
+ * so no other relay picks them up meanwhile, and loads their tasks with one query. The {@link TaskMessage}s are then
+ * handed to the {@link TaskDispatchProducer} and flushed once, so the sends are pipelined and no lock or connection
+ * is held while waiting for the broker. The second transaction deletes the acknowledged entries and holds the
+ * others back for {@code task.outbox.retry-backoff-ms}; an entry still unsent {@code task.outbox.max-dispatch-age-ms}
+ * after it was written marks its task FAILED. A relay that dies mid-batch leaves its entries to be claimed again
+ * once the claim times out.
+ */
+@Component
+@ConditionalOnProperty(name = "task.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutboxRelay.class);
+
+    @Value("${task.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.outbox.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    @Value("${task.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${task.outbox.max-dispatch-age-ms:300000}")
+    private long maxDispatchAgeMs;
+
+    @Value("${task.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${task.producer.inline-payload-max-chars:16384}")
+    private int inlinePayloadMaxChars;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TaskManagementRepository taskManagementRepository;
+
+    @Autowired
+    private TaskManagementService taskManagementService;
+
+    @Autowired
+    private TaskDispatchProducer taskDispatchProducer;
+
+    @Autowired
+    private TaskMetricsService taskMetricsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // After a batch with failed sends, no new batch is claimed before this time
+    private Instant pausedUntil = Instant.MIN;
+
+    /**
+     * Drains the outbox. A full batch that was acknowledged entirely is followed immediately by the next one,
+     * up to {@code max-batches-per-run} batches, a batch with a failed send pauses the relay for {@code retry-backoff-ms}.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.relay-interval-ms:100}")
+    public void relay() {
+        if (Instant.now().isBefore(pausedUntil)) {
+            return;
+        }
+        BatchOutcome outcome;
+        int batches = 0;
+        do {
+            outcome = relayBatch();
+            batches++;
+        } while (outcome == BatchOutcome.FULL && batches < maxBatchesPerRun);
+        if (outcome == BatchOutcome.FAILED) {
+            pausedUntil = Instant.now().plusMillis(retryBackoffMs);
+        }
+    }
+
+    enum BatchOutcome {
+        // Every entry acknowledged and the batch was full, more are likely waiting
+        FULL,
+        // Every entry acknowledged, the outbox is drained
+        DRAINED,
+        // At least one send failed
+        FAILED
+    }
+
+    private record Claim(List<TaskOutbox> outboxEntries, Map<Long, TaskManagement> tasksById) {
+    }
+
+    /**
+     * Claims, sends and settles one batch of outbox entries.
+     */
+    BatchOutcome relayBatch() {
+        Claim claim = transactionTemplate.execute(transactionStatus -> claimBatch());
+        if (claim == null || claim.outboxEntries().isEmpty()) {
+            return BatchOutcome.DRAINED;
+        }
+        List<TaskOutbox> outboxEntries = claim.outboxEntries();
+
+        // Send to Kafka outside any transaction, one flush for the whole batch
+        List<CompletableFuture<SendResult<String, TaskMessage>>> sendFutures = new ArrayList<>(outboxEntries.size());
+        for (TaskOutbox outboxEntry : outboxEntries) {
+            TaskManagement task = claim.tasksById().get(outboxEntry.getTaskId());
+            sendFutures.add(task == null ? null : taskDispatchProducer.send(TaskMessage.of(task, inlinePayloadMaxChars)));
+        }
+        taskDispatchProducer.flush();
+        taskMetricsService.recordDispatchBatchSize(claim.tasksById().size());
+
+        List<Long> dispatchedEntryIds = new ArrayList<>(outboxEntries.size());
+        List<Long> deferredEntryIds = new ArrayList<>();
+        List<Long> exhaustedTaskIds = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int index = 0; index < outboxEntries.size(); index++) {
+            TaskOutbox outboxEntry = outboxEntries.get(index);
+            if (sendFutures.get(index) == null) {
+                // The task no longer exists, there is nothing to dispatch
+                logger.warn("Dropping outbox entry for missing task ID {}", outboxEntry.getTaskId());
+                dispatchedEntryIds.add(outboxEntry.getId());
+            } else if (awaitSend(outboxEntry.getTaskId(), sendFutures.get(index))) {
+                dispatchedEntryIds.add(outboxEntry.getId());
+            } else if (!now.isBefore(outboxEntry.getCreatedAt().plusMillis(maxDispatchAgeMs))) {
+                exhaustedTaskIds.add(outboxEntry.getTaskId());
+                dispatchedEntryIds.add(outboxEntry.getId());
+            } else {
+                deferredEntryIds.add(outboxEntry.getId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+            if (!exhaustedTaskIds.isEmpty()) {
+                logger.error("Giving up on dispatching task IDs {} after {} ms", exhaustedTaskIds, maxDispatchAgeMs);
+                taskManagementService.updateTaskStatuses(exhaustedTaskIds, TaskStatus.PENDING, TaskStatus.FAILED);
+            }
+            if (!deferredEntryIds.isEmpty()) {
+                taskOutboxRepository.deferByIdIn(deferredEntryIds, now.plusMillis(retryBackoffMs));
+            }
+            taskOutboxRepository.deleteAllByIdInBatch(dispatchedEntryIds);
+        });
+
+        int failedSends = deferredEntryIds.size() + exhaustedTaskIds.size();
+        logger.info("Outbox relay sent {} of {} tasks to Kafka", outboxEntries.size() - failedSends, outboxEntries.size());
+        if (failedSends > 0) {
+            return BatchOutcome.FAILED;
+        }
+        return outboxEntries.size() == batchSize ? BatchOutcome.FULL : BatchOutcome.DRAINED;
+    }
+
+    /**
+     * Locks the oldest available entries, claims them until the claim times out and loads their tasks.
+     * Must run inside a transaction, the claim is written on commit.
+     */
+    private Claim claimBatch() {
+        Instant now = Instant.now();
+        List<TaskOutbox> outboxEntries = taskOutboxRepository.findByAvailableAtLessThanEqualOrderByIdAsc(now, Limit.of(batchSize));
+        if (outboxEntries.isEmpty()) {
+            return new Claim(outboxEntries, Map.of());
+        }
+        Instant claimedUntil = now.plusMillis(claimTimeoutMs);
+        for (TaskOutbox outboxEntry : outboxEntries) {
+            // The entries are managed, the claim is written on commit
+            outboxEntry.setAvailableAt(claimedUntil);
+        }
+
+        // One read for the whole batch, the messages carry the task so consumers do not read it again
+        Map<Long, TaskManagement> tasksById = new HashMap<>();
+        for (TaskManagement task : taskManagementRepository.findAllById(
+                outboxEntries.stream().map(TaskOutbox::getTaskId).toList())) {
+            tasksById.put(task.getId(), task);
+        }
+        return new Claim(outboxEntries, tasksById);
+    }
+
+    private boolean awaitSend(Long taskId, CompletableFuture<SendResult<String, TaskMessage>> sendFuture) {
+        try {
+            sendFuture.get(TaskManagementConstants.KAFKA_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while sending task ID {} to Kafka", taskId);
+            return false;
+        } catch (ExecutionException | TimeoutException exception) {
+            logger.error("Failed to send task ID {} to Kafka: {}", taskId, exception.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskStatisticsResponse;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskStatusCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps per-{@link TaskStatus} task counts in memory so statistics can be served without
+ * scanning the task table. Counts are updated on every status transition and periodically
+ * reconciled against a single {@code GROUP BY status} count query, which also corrects any
+ * drift caused by rows written outside this service.
+ */
+@Component
+public class TaskStatisticsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatisticsEngine.class);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Autowired
+    private TaskManagementRepository taskManagementRepository;
+
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+
+    // Transitions recorded while a reconciliation query is in flight, re-applied on top of its result
+    private final AtomicLongArray pendingDeltas = new AtomicLongArray(STATUSES.length);
+
+    private volatile boolean reconciling;
+
+    public void recordCreated(TaskStatus status) {
+        recordCreated(status, 1);
+    }
+
+    public void recordCreated(TaskStatus status, long count) {
+        add(status, count);
+    }
+
+    public void recordTransition(TaskStatus from, TaskStatus to) {
+        recordTransition(from, to, 1);
+    }
+
+    public void recordTransition(TaskStatus from, TaskStatus to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        add(from, -count);
+        add(to, count);
+    }
+
+    public long getCount(TaskStatus status) {
+        return counts.get(status.ordinal());
+    }
+
+    /**
+     * Builds the task statistics from the in-memory counts.
+     *
+     * @return A response containing task statistics.
+     */
+    public TaskStatisticsResponse getStatistics() {
+        long totalTasks = 0;
+        for (int index = 0; index < STATUSES.length; index++) {
+            totalTasks += counts.get(index);
+        }
+        long completedTasks = getCount(TaskStatus.COMPLETED);
+        long failedTasks = getCount(TaskStatus.FAILED);
+
+        double successRate = totalTasks == 0 ? 0 : (completedTasks * TaskManagementConstants.PERCENTAGE_MULTIPLIER) / totalTasks;
+        double failureRate = totalTasks == 0 ? 0 : (failedTasks * TaskManagementConstants.PERCENTAGE_MULTIPLIER) / totalTasks;
+
+        return new TaskStatisticsResponse(totalTasks, completedTasks, failedTasks, successRate, failureRate);
+    }
+
+    /**
+     * Replaces the in-memory counts with the counts from the database.
+     * Runs once at startup and then at a fixed interval.
+     */
+    @Scheduled(fixedDelayString = "${task.statistics.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        logger.info("Reconciling task statistics against the database");
+        for (int index = 0; index < STATUSES.length; index++) {
+            pendingDeltas.set(index, 0);
+        }
+        reconciling = true;
+        try {
+            long[] databaseCounts = new long[STATUSES.length];
+            List<TaskStatusCount> statusCounts = taskManagementRepository.countGroupByStatus();
+            for (TaskStatusCount statusCount : statusCounts) {
+                if (statusCount.getStatus() != null) {
+                    databaseCounts[statusCount.getStatus().ordinal()] = statusCount.getCount();
+                }
+            }
+            for (int index = 0; index < STATUSES.length; index++) {
+                long drift = counts.get(index) - databaseCounts[index] - pendingDeltas.get(index);
+                if (drift != 0) {
+                    logger.info("Task statistics for {} drifted by {}, correcting", STATUSES[index], drift);
+                }
+                counts.addAndGet(index, -drift);
+            }
+        } catch (RuntimeException exception) {
+            logger.error("Failed to reconcile task statistics: {}", exception.getMessage());
+        } finally {
+            reconciling = false;
+        }
+    }
+
+    private void add(TaskStatus status, long delta) {
+        int index = status.ordinal();
+        counts.addAndGet(index, delta);
+        if (reconciling) {
+            pendingDeltas.addAndGet(index, delta);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.config.TaskCacheProperties;
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.TaskNotFoundException;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskCacheSyncProducer;
+import com.epam.AsyncDataPipeline.mapper.EntityToModelMapper;
+import com.epam.AsyncDataPipeline.repository.TaskIdStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Owns the {@code taskManagement} status cache.
+ * <p>
+ * Reads go through an {@link AsyncLoadingCache}: concurrent lookups of the same uncached task share
+ * one in-flight database read instead of each running its own {@code findById}. Task IDs that do
+ * not exist are remembered in a short-lived negative cache ({@link TaskManagementConstants#NOT_FOUND_CACHE_NAME}), so repeated lookups of unknown IDs do
+ * not reach the database either. Multi-task lookups resolve all cached tasks at once and load the misses with one IN query.
+ * <p>
+ * Writes are write-through: every status written to the database is put into the cache right after,
+ * so polling clients keep hitting the cache across transitions. A put never replaces a cached status
+ * with one it cannot transition to, so a put that loses a race against a later transition does not
+ * bring an old status back.
+ * <p>
+ * Both caches are sized by {@link TaskCacheProperties} and registered with the {@link CaffeineCacheManager}.
+ * <p>
+ * When cache sync is enabled, every put and eviction is also broadcast through {@link TaskCacheSyncProducer},
+ * and the updates received from the other nodes are applied with {@link #putLocal} and {@link #evictLocal}.
+ * <p>
+ * Every status that replaces the cached one, local or received from another node, is published to the
+ * {@link TaskStatusEventBus} for clients streaming the status of the task.
+ */
+@Component
+public class TaskStatusCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusCache.class);
+
+    @Autowired
+    private CaffeineCacheManager cacheManager;
+
+    @Autowired
+    private TaskManagementRepository taskManagementRepository;
+
+    @Autowired
+    private EntityToModelMapper entityToModelMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private TaskCacheProperties taskCacheProperties;
+
+    @Autowired
+    private ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar;
+
+    @Autowired
+    private ObjectProvider<TaskCacheSyncProducer> taskCacheSyncProducer;
+
+    @Autowired
+    private TaskStatusEventBus taskStatusEventBus;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.STATUS_UPDATE_EXECUTOR)
+    private Executor taskStatusLookupExecutor;
+
+    // null when cache sync is disabled
+    private TaskCacheSyncProducer cacheSyncProducer;
+
+    private AsyncLoadingCache<Long, TaskManagementStatusResponse> statusCache;
+
+    private Cache<Long, Boolean> notFoundCache;
+
+    private Counter statusHitCounter;
+    private Counter statusMissCounter;
+    private Counter statusCoalescedCounter;
+    private Counter notFoundHitCounter;
+    private Counter notFoundMissCounter;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void initCache() {
+        statusCache = taskCacheProperties.newBuilder(TaskManagementConstants.APP_NAME)
+                .executor(taskStatusLookupExecutor)
+                .buildAsync(this::loadStatus);
+        notFoundCache = taskCacheProperties.newBuilder(TaskManagementConstants.NOT_FOUND_CACHE_NAME).build();
+
+        // Registered with the cache manager so both caches show up in the actuator and in the cache metrics
+        cacheManager.registerCustomCache(TaskManagementConstants.APP_NAME, (AsyncCache<Object, Object>) (AsyncCache<?, ?>) statusCache);
+        cacheManager.registerCustomCache(TaskManagementConstants.NOT_FOUND_CACHE_NAME, (Cache<Object, Object>) (Cache<?, ?>) notFoundCache);
+        cacheMetricsRegistrar.ifAvailable(registrar -> {
+            for (String cacheName : List.of(TaskManagementConstants.APP_NAME, TaskManagementConstants.NOT_FOUND_CACHE_NAME)) {
+                registrar.bindCacheToRegistry(cacheManager.getCache(cacheName), Tag.of("cache.manager", "cacheManager"));
+            }
+        });
+
+        statusHitCounter = lookupCounter("status", "hit");
+        statusMissCounter = lookupCounter("status", "miss");
+        statusCoalescedCounter = lookupCounter("status", "coalesced");
+        notFoundHitCounter = lookupCounter("not-found", "hit");
+        notFoundMissCounter = lookupCounter("not-found", "miss");
+
+        cacheSyncProducer = taskCacheSyncProducer.getIfAvailable();
+    }
+
+    private Counter lookupCounter(String cache, String result) {
+        return Counter.builder("tasks.status.cache.lookups")
+                .description("Task status lookups by cache and result")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Returns the status of a task, loading it from the database only when it is not cached
+     * and no other lookup of the same task is already loading it.
+     *
+     * @param id The task ID.
+     * @return The status response of the task.
+     * @throws TaskNotFoundException if the task does not exist.
+     */
+    public TaskManagementStatusResponse get(Long id) {
+        if (notFoundCache.getIfPresent(id) != null) {
+            notFoundHitCounter.increment();
+            throw notFound(id);
+        }
+        notFoundMissCounter.increment();
+
+        // The mapping function only runs on the thread that starts the load, later lookups share its future
+        boolean[] loadStarted = new boolean[1];
+        CompletableFuture<TaskManagementStatusResponse> cached = statusCache.get(id, (key, executor) -> {
+            loadStarted[0] = true;
+            return CompletableFuture.supplyAsync(() -> loadStatus(key), executor);
+        });
+        if (loadStarted[0]) {
+            statusMissCounter.increment();
+        } else if (cached.isDone()) {
+            statusHitCounter.increment();
+        } else {
+            statusCoalescedCounter.increment();
+        }
+
+        TaskManagementStatusResponse statusResponse;
+        try {
+            statusResponse = cached.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+        if (statusResponse == null) {
+            notFoundCache.put(id, Boolean.TRUE);
+            throw notFound(id);
+        }
+        return statusResponse;
+    }
+
+    /**
+     * Returns the statuses of a set of tasks. Cached tasks are resolved in one cache lookup and all the
+     * others are loaded together with a single IN query, then cached.
+     *
+     * @param ids The task IDs.
+     * @return The status response of every task that exists, in the order of {@code ids}.
+     */
+    public Map<Long, TaskManagementStatusResponse> getAll(Collection<Long> ids) {
+        Set<Long> lookupIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (notFoundCache.getIfPresent(id) != null) {
+                notFoundHitCounter.increment();
+            } else {
+                notFoundMissCounter.increment();
+                lookupIds.add(id);
+            }
+        }
+        if (lookupIds.isEmpty()) {
+            return Map.of();
+        }
+
+        int[] loaded = new int[1];
+        CompletableFuture<Map<Long, TaskManagementStatusResponse>> cached = statusCache.getAll(lookupIds, (missingIds, executor) -> {
+            loaded[0] = missingIds.size();
+            return CompletableFuture.supplyAsync(() -> loadStatuses(missingIds), executor);
+        });
+        statusMissCounter.increment(loaded[0]);
+        statusHitCounter.increment(lookupIds.size() - loaded[0]);
+
+        Map<Long, TaskManagementStatusResponse> statusResponses;
+        try {
+            statusResponses = cached.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+
+        Map<Long, TaskManagementStatusResponse> orderedResponses = new LinkedHashMap<>();
+        for (Long id : lookupIds) {
+            TaskManagementStatusResponse statusResponse = statusResponses.get(id);
+            if (statusResponse == null) {
+                notFoundCache.put(id, Boolean.TRUE);
+            } else {
+                orderedResponses.put(id, statusResponse);
+            }
+        }
+        return orderedResponses;
+    }
+
+    private Map<Long, TaskManagementStatusResponse> loadStatuses(Set<? extends Long> ids) {
+        logger.info("Loading status of {} tasks from the database", ids.size());
+        Map<TaskStatus, TaskManagementStatusResponse> sharedResponses = new HashMap<>();
+        Map<Long, TaskManagementStatusResponse> statusResponses = new HashMap<>();
+        for (TaskIdStatus taskIdStatus : taskManagementRepository.findStatusByIdIn(List.copyOf(ids))) {
+            statusResponses.put(taskIdStatus.getId(), sharedResponses.computeIfAbsent(taskIdStatus.getStatus(), TaskStatusCache::statusResponse));
+        }
+        return statusResponses; // IDs that do not exist are left out and not cached
+    }
+
+    private TaskManagementStatusResponse loadStatus(Long id) {
+        logger.info("Loading status of task ID {} from the database", id);
+        return taskManagementRepository.findById(id)
+                .map(entityToModelMapper::mapEntityToStatusDto)
+                .orElse(null); // not cached, recorded in the not-found cache by get
+    }
+
+    private static TaskNotFoundException notFound(Long id) {
+        return new TaskNotFoundException("Task with id " + id + " not found");
+    }
+
+    /**
+     * Caches the new status of a task.
+     *
+     * @param id     The task ID.
+     * @param status The status just written to the database.
+     */
+    public void put(Long id, TaskStatus status) {
+        putLocal(id, status);
+        if (cacheSyncProducer != null) {
+            cacheSyncProducer.publish(id, status);
+        }
+    }
+
+    /**
+     * Caches the new status of a task on this node only, used for updates received from other nodes.
+     *
+     * @param id     The task ID.
+     * @param status The new status.
+     */
+    public void putLocal(Long id, TaskStatus status) {
+        notFoundCache.invalidate(id);
+        cacheStatus(id, status, statusResponse(status));
+    }
+
+    /**
+     * Caches the same new status for a set of tasks, one shared response instance is stored for all of them.
+     *
+     * @param ids    The task IDs.
+     * @param status The status just written to the database.
+     */
+    public void putAll(Collection<Long> ids, TaskStatus status) {
+        notFoundCache.invalidateAll(ids);
+        TaskManagementStatusResponse statusResponse = statusResponse(status);
+        for (Long id : ids) {
+            cacheStatus(id, status, statusResponse);
+        }
+        if (cacheSyncProducer != null) {
+            cacheSyncProducer.publishAll(ids, status);
+        }
+    }
+
+    /**
+     * Removes the cached statuses of a set of tasks, used when their new status is not known.
+     *
+     * @param ids The task IDs.
+     */
+    public void evictAll(Collection<Long> ids) {
+        evictLocal(ids);
+        if (cacheSyncProducer != null) {
+            cacheSyncProducer.publishEvictions(ids);
+        }
+    }
+
+    /**
+     * Removes the cached statuses of a set of tasks on this node only, used for evictions received from other nodes.
+     *
+     * @param ids The task IDs.
+     */
+    public void evictLocal(Collection<Long> ids) {
+        statusCache.synchronous().invalidateAll(ids);
+        for (Long id : ids) {
+            if (taskStatusEventBus.hasSubscribers(id)) {
+                refreshSubscribed(id);
+            }
+        }
+    }
+
+    private void cacheStatus(Long id, TaskStatus status, TaskManagementStatusResponse statusResponse) {
+        boolean[] cached = new boolean[1];
+        statusCache.synchronous().asMap().compute(id, (key, current) -> {
+            if (!supersedes(status, current)) {
+                return current;
+            }
+            cached[0] = true;
+            return statusResponse;
+        });
+        if (cached[0]) {
+            taskStatusEventBus.publish(id, status);
+        }
+    }
+
+    // An evicted status is unknown, so clients streaming the task get it re-read from the database
+    private void refreshSubscribed(Long id) {
+        try {
+            CompletableFuture.runAsync(() -> taskStatusEventBus.publish(id, get(id).getStatus()), taskStatusLookupExecutor)
+                    .exceptionally(exception -> {
+                        logger.warn("Could not refresh the status of task ID {}: {}", id, exception.getMessage());
+                        return null;
+                    });
+        } catch (RejectedExecutionException exception) {
+            logger.warn("Could not refresh the status of task ID {}: {}", id, exception.getMessage());
+        }
+    }
+
+    private static boolean supersedes(TaskStatus status, TaskManagementStatusResponse cached) {
+        return cached == null || cached.getStatus() == null || status.supersedes(cached.getStatus());
+    }
+
+    private static TaskManagementStatusResponse statusResponse(TaskStatus status) {
+        TaskManagementStatusResponse statusResponse = new TaskManagementStatusResponse();
+        statusResponse.setStatus(status);
+        return statusResponse;
+    }
+}
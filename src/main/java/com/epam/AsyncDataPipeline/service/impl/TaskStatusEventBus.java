@@ -0,0 +1,180 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for task status transitions, published by {@link TaskStatusCache} whenever a newer
+ * status is cached and consumed by the status streams of waiting clients.
+ * <p>
+ * A subscriber does not own a thread: each subscription has a small bounded buffer, and a delivery is
+ * only scheduled on the status event executor while the buffer holds events, so thousands of idle
+ * subscribers cost a map entry each. When a slow subscriber's buffer is full the oldest event is dropped,
+ * since only the latest status matters to a client.
+ */
+@Component
+public class TaskStatusEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusEventBus.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    @Qualifier(TaskExecutorConfig.STATUS_EVENT_EXECUTOR)
+    private Executor taskStatusEventExecutor;
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private Counter droppedEventsCounter;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("tasks.status.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clients currently waiting for task status transitions")
+                .register(registry);
+        droppedEventsCounter = Counter.builder("tasks.status.events.dropped")
+                .description("Status events dropped because a subscriber's buffer was full")
+                .register(registry);
+    }
+
+    /**
+     * Registers a listener for the status transitions of one task.
+     *
+     * @param taskId     The task ID.
+     * @param bufferSize The number of undelivered events kept for this subscriber.
+     * @param listener   Called with each status, never concurrently for the same subscription.
+     * @return The subscription, to be cancelled once the client is gone.
+     */
+    public Subscription subscribe(Long taskId, int bufferSize, Consumer<TaskStatus> listener) {
+        Subscription subscription = new Subscription(taskId, bufferSize, listener);
+        subscriptions.computeIfAbsent(taskId, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscriberCount.incrementAndGet();
+        return subscription;
+    }
+
+    /**
+     * Hands a status transition to every subscriber of the task, without waiting for delivery.
+     *
+     * @param taskId The task ID.
+     * @param status The new status.
+     */
+    public void publish(Long taskId, TaskStatus status) {
+        Set<Subscription> taskSubscriptions = subscriptions.get(taskId);
+        if (taskSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : taskSubscriptions) {
+            subscription.offer(status);
+        }
+    }
+
+    public boolean hasSubscribers(Long taskId) {
+        return subscriptions.containsKey(taskId);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.taskId, (key, taskSubscriptions) -> {
+            if (taskSubscriptions.remove(subscription)) {
+                subscriberCount.decrementAndGet();
+            }
+            return taskSubscriptions.isEmpty() ? null : taskSubscriptions;
+        });
+    }
+
+    /**
+     * One client's interest in the status transitions of a task.
+     */
+    public final class Subscription {
+
+        private final Long taskId;
+        private final ArrayBlockingQueue<TaskStatus> buffer;
+        private final Consumer<TaskStatus> listener;
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        private Subscription(Long taskId, int bufferSize, Consumer<TaskStatus> listener) {
+            this.taskId = taskId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.listener = listener;
+        }
+
+        /**
+         * Queues a status for delivery to this subscriber, dropping the oldest queued status when the buffer is full.
+         *
+         * @param status The status.
+         */
+        public void offer(TaskStatus status) {
+            if (cancelled) {
+                return;
+            }
+            while (!buffer.offer(status)) {
+                if (buffer.poll() != null) {
+                    droppedEventsCounter.increment();
+                }
+            }
+            scheduleDelivery();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            buffer.clear();
+            unsubscribe(this);
+        }
+
+        private void scheduleDelivery() {
+            if (!deliveryScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                taskStatusEventExecutor.execute(this::deliver);
+            } catch (RejectedExecutionException exception) {
+                // The events stay buffered and are delivered with the next status of this task
+                deliveryScheduled.set(false);
+                logger.warn("Status event delivery for task ID {} rejected: {}", taskId, exception.getMessage());
+            }
+        }
+
+        private void deliver() {
+            try {
+                TaskStatus status;
+                while (!cancelled && (status = buffer.poll()) != null) {
+                    listener.accept(status);
+                }
+            } catch (RuntimeException exception) {
+                logger.warn("Status event delivery for task ID {} failed: {}", taskId, exception.getMessage());
+                cancel();
+            } finally {
+                deliveryScheduled.set(false);
+            }
+            if (!cancelled && !buffer.isEmpty()) {
+                scheduleDelivery();
+            }
+        }
+    }
+}
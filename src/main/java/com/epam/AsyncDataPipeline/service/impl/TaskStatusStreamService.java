@@ -0,0 +1,126 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes task status transitions to clients instead of letting them poll the status endpoint.
+ * <p>
+ * Both variants subscribe to the {@link TaskStatusEventBus} before reading the current status, so a
+ * transition that happens in between is not missed, and pass on any status later in the lifecycle than
+ * the one the client has, even when an event in between was dropped. Neither holds a request thread while
+ * waiting: the servlet request is asynchronous and events are written from the status event executor.
+ * A write blocks while the client does not read; Tomcat fails it after {@code server.tomcat.connection-timeout},
+ * which closes the stream, so a slow client holds a status event thread for that long at most.
+ */
+@Service
+public class TaskStatusStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusStreamService.class);
+
+    private static final String STATUS_EVENT_NAME = "status";
+
+    @Value("${task.status.stream.timeout-ms:300000}")
+    private long streamTimeoutMs;
+
+    @Value("${task.status.stream.buffer-size:16}")
+    private int streamBufferSize;
+
+    @Value("${task.status.long-poll.max-timeout-ms:60000}")
+    private long longPollMaxTimeoutMs;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private TaskStatusEventBus taskStatusEventBus;
+
+    /**
+     * Opens a Server-Sent Events stream that emits the current status of the task and then every transition,
+     * and completes once the task is COMPLETED. A FAILED task may still be retried, so its stream stays open
+     * until the stream timeout.
+     *
+     * @param id The task ID.
+     * @return The event stream.
+     * @throws com.epam.AsyncDataPipeline.exception.TaskNotFoundException if the task does not exist.
+     */
+    public SseEmitter streamStatus(Long id) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicReference<TaskStatus> lastSent = new AtomicReference<>();
+        TaskStatusEventBus.Subscription subscription = taskStatusEventBus.subscribe(id, streamBufferSize, status -> {
+            TaskStatus previous = lastSent.get();
+            if (previous != null && !status.supersedes(previous)) {
+                return; // already sent, or older than what the client has seen
+            }
+            lastSent.set(status);
+            try {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT_NAME).data(statusResponse(status)));
+            } catch (IOException exception) {
+                emitter.completeWithError(exception);
+                throw new IllegalStateException("Client of task " + id + " status stream is gone", exception);
+            }
+            if (status == TaskStatus.COMPLETED) {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(exception -> subscription.cancel());
+
+        try {
+            subscription.offer(taskStatusCache.get(id).getStatus());
+        } catch (RuntimeException exception) {
+            subscription.cancel();
+            throw exception;
+        }
+        logger.info("Streaming status of task ID {}", id);
+        return emitter;
+    }
+
+    /**
+     * Waits until the status of the task differs from the one the client already knows, or until the timeout.
+     *
+     * @param id          The task ID.
+     * @param knownStatus The status the client already has, null to answer immediately.
+     * @param timeoutMs   How long to wait, capped at the configured maximum.
+     * @return The status of the task once it changed, or the unchanged status at the timeout.
+     * @throws com.epam.AsyncDataPipeline.exception.TaskNotFoundException if the task does not exist.
+     */
+    public DeferredResult<TaskManagementStatusResponse> awaitStatusChange(Long id, TaskStatus knownStatus, long timeoutMs) {
+        DeferredResult<TaskManagementStatusResponse> result = new DeferredResult<>(Math.min(timeoutMs, longPollMaxTimeoutMs));
+        TaskStatusEventBus.Subscription subscription = taskStatusEventBus.subscribe(id, 1, status -> {
+            if (knownStatus == null || status.supersedes(knownStatus)) {
+                result.setResult(statusResponse(status));
+            }
+        });
+        result.onCompletion(subscription::cancel);
+        result.onTimeout(() -> result.setResult(taskStatusCache.get(id)));
+
+        try {
+            TaskStatus currentStatus = taskStatusCache.get(id).getStatus();
+            if (currentStatus != knownStatus) {
+                result.setResult(statusResponse(currentStatus));
+            }
+        } catch (RuntimeException exception) {
+            subscription.cancel();
+            throw exception;
+        }
+        return result;
+    }
+
+    private static TaskManagementStatusResponse statusResponse(TaskStatus status) {
+        TaskManagementStatusResponse statusResponse = new TaskManagementStatusResponse();
+        statusResponse.setStatus(status);
+        return statusResponse;
+    }
+}
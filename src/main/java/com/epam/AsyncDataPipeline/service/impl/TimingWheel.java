@@ -0,0 +1,198 @@
+package com.epam.AsyncDataPipeline.service.impl;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel holding task IDs until their due time.
+ * <p>
+ * The first wheel has {@code wheelSize} buckets of {@code tickMs} each; every further wheel has buckets as
+ * long as the whole wheel below it and is only created when a due time is beyond the wheels that exist.
+ * Adding a timer computes its bucket from the due time and appends to it, O(1) whatever the number of
+ * timers. Advancing the clock empties the buckets of the first wheel tick by tick, and moves the timers of
+ * a higher wheel's bucket down once they fit in the wheel below, so every timer is touched once per wheel
+ * it passes through instead of being ordered in a heap.
+ * <p>
+ * A timer is due in the first tick that starts at or after its due time: it never fires early and at most
+ * one tick late. Buckets store IDs and due times in primitive arrays, about 16 bytes per timer.
+ * Not thread safe, callers synchronize.
+ */
+public final class TimingWheel {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final Level root;
+
+    private long size;
+
+    /**
+     * @param tickMs    Duration of a bucket of the first wheel, the precision of the due times.
+     * @param wheelSize Buckets per wheel.
+     * @param startMs   Current time, the clock starts here.
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs / tickMs - 1);
+    }
+
+    /**
+     * Adds a timer.
+     *
+     * @return false when the due time has already passed; the timer is not added and is due now.
+     */
+    public boolean add(long id, long dueAtMs) {
+        if (!root.add(id, dueAtMs)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the clock to {@code nowMs} and hands every timer that became due to {@code dueIds}.
+     *
+     * @return The number of timers that became due.
+     */
+    public int advance(long nowMs, LongConsumer dueIds) {
+        // Ticks that ended at or before now, a timer in the tick containing now may not be due yet
+        long targetTick = nowMs / tickMs - 1;
+        int due = 0;
+        while (root.currentTick < targetTick) {
+            root.currentTick++;
+            due += root.buckets[slotIndex(root.currentTick)].drainTo(dueIds);
+            if (root.overflow != null) {
+                root.overflow.cascade(root.currentTick);
+            }
+        }
+        size -= due;
+        return due;
+    }
+
+    /**
+     * @return The number of timers waiting in the wheel.
+     */
+    public long size() {
+        return size;
+    }
+
+    private int slotIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) wheelSize);
+    }
+
+    private final class Level {
+
+        private final long tickMs;
+
+        private final Bucket[] buckets = new Bucket[wheelSize];
+
+        // Buckets up to this tick have been emptied (first wheel) or moved down (higher wheels)
+        private long currentTick;
+
+        private Level overflow;
+
+        private Level(long tickMs, long currentTick) {
+            this.tickMs = tickMs;
+            this.currentTick = currentTick;
+            for (int index = 0; index < wheelSize; index++) {
+                buckets[index] = new Bucket();
+            }
+        }
+
+        private boolean add(long id, long dueAtMs) {
+            long tick = Math.floorDiv(dueAtMs, tickMs);
+            if (tick <= currentTick) {
+                // Only the first wheel can be behind a due time, higher wheels cascade before it gets there
+                return false;
+            }
+            if (tick <= currentTick + wheelSize) {
+                buckets[slotIndex(tick)].add(id, dueAtMs);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(tickMs * wheelSize, Math.floorDiv(currentTick + 1, (long) wheelSize));
+            }
+            return overflow.add(id, dueAtMs);
+        }
+
+        /**
+         * Moves down the buckets whose whole range fits in the wheel below, given the tick the wheel below is at.
+         */
+        private void cascade(long lowerTick) {
+            long targetTick = Math.floorDiv(lowerTick + 1, (long) wheelSize);
+            while (currentTick < targetTick) {
+                currentTick++;
+                buckets[slotIndex(currentTick)].moveTo(root::reinsert);
+                if (overflow != null) {
+                    overflow.cascade(currentTick);
+                }
+            }
+        }
+
+        private void reinsert(long id, long dueAtMs) {
+            if (!add(id, dueAtMs)) {
+                throw new IllegalStateException("Timer " + id + " cascaded after its due time");
+            }
+        }
+    }
+
+    private interface TimerConsumer {
+        void accept(long id, long dueAtMs);
+    }
+
+    private static final class Bucket {
+
+        private static final long[] EMPTY = new long[0];
+
+        private long[] ids = EMPTY;
+
+        private long[] dueTimes = EMPTY;
+
+        private int count;
+
+        private void add(long id, long dueAtMs) {
+            if (count == ids.length) {
+                int capacity = Math.max(8, count * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                dueTimes = Arrays.copyOf(dueTimes, capacity);
+            }
+            ids[count] = id;
+            dueTimes[count] = dueAtMs;
+            count++;
+        }
+
+        private int drainTo(LongConsumer consumer) {
+            int drained = count;
+            for (int index = 0; index < drained; index++) {
+                consumer.accept(ids[index]);
+            }
+            clear();
+            return drained;
+        }
+
+        private void moveTo(TimerConsumer consumer) {
+            // Detach first, re-inserting may add to this bucket again
+            long[] drainedIds = ids;
+            long[] drainedDueTimes = dueTimes;
+            int drained = count;
+            ids = EMPTY;
+            dueTimes = EMPTY;
+            count = 0;
+            for (int index = 0; index < drained; index++) {
+                consumer.accept(drainedIds[index], drainedDueTimes[index]);
+            }
+        }
+
+        private void clear() {
+            // Release the arrays of a bucket that held a burst of timers
+            ids = EMPTY;
+            dueTimes = EMPTY;
+            count = 0;
+        }
+    }
+}
@@ -1,8 +1,49 @@
+-- Ids are allocated by Hibernate's pooled optimizer (allocationSize = 50), so the sequence
+-- must advance in steps of 50 for JDBC insert batching to work.
+CREATE SEQUENCE IF NOT EXISTS public.taskmanagement_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.taskmanagement_id_seq INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS public.taskmanagement
 (
     id bigint NOT NULL DEFAULT nextval('taskmanagement_id_seq'::regclass),
     name character varying(255) COLLATE pg_catalog."default" NOT NULL,
     payload text COLLATE pg_catalog."default" NOT NULL,
     status character varying(50) COLLATE pg_catalog."default" NOT NULL,
+    created_at timestamp with time zone NOT NULL DEFAULT now(),
+    started_at timestamp with time zone,
+    finished_at timestamp with time zone,
+    due_at timestamp with time zone,
     CONSTRAINT taskmanagement_pkey PRIMARY KEY (id)
-)
\ No newline at end of file
+);
+
+-- Lifecycle timestamps, for tables created before they existed
+ALTER TABLE public.taskmanagement ADD COLUMN IF NOT EXISTS created_at timestamp with time zone NOT NULL DEFAULT now();
+ALTER TABLE public.taskmanagement ADD COLUMN IF NOT EXISTS started_at timestamp with time zone;
+ALTER TABLE public.taskmanagement ADD COLUMN IF NOT EXISTS finished_at timestamp with time zone;
+
+-- Due time of a task submitted with runAt or delayMs, the index only holds the tasks still waiting
+ALTER TABLE public.taskmanagement ADD COLUMN IF NOT EXISTS due_at timestamp with time zone;
+CREATE INDEX IF NOT EXISTS taskmanagement_scheduled_due_idx ON public.taskmanagement (due_at) WHERE status = 'SCHEDULED';
+CREATE INDEX IF NOT EXISTS taskmanagement_processing_started_idx ON public.taskmanagement (started_at) WHERE status = 'PROCESSING';
+
+
+-- Task IDs waiting to be published to Kafka, written in the same transaction as the task
+-- and deleted by the outbox relay once the broker has acknowledged them.
+CREATE SEQUENCE IF NOT EXISTS public.task_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS public.task_outbox
+(
+    id bigint NOT NULL DEFAULT nextval('task_outbox_id_seq'::regclass),
+    task_id bigint NOT NULL,
+    created_at timestamp with time zone NOT NULL,
+    attempts integer NOT NULL DEFAULT 0,
+    CONSTRAINT task_outbox_pkey PRIMARY KEY (id),
+    CONSTRAINT task_outbox_task_fkey FOREIGN KEY (task_id) REFERENCES public.taskmanagement (id)
+);
+
+-- When a relay may next pick an entry up, pushed out while it is being sent and after a failed send
+ALTER TABLE public.task_outbox ADD COLUMN IF NOT EXISTS available_at timestamp with time zone NOT NULL DEFAULT now();
+CREATE INDEX IF NOT EXISTS task_outbox_available_idx ON public.task_outbox (available_at);
+
+-- The oldest waiting entry, sampled by TaskOutboxBacklog every second
+CREATE INDEX IF NOT EXISTS task_outbox_created_idx ON public.task_outbox (created_at);
@@ -1,22 +1,54 @@
 package com.epam.AsyncDataPipeline.componentTests;
 
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
 import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.handler.TaskHandler;
+import com.epam.AsyncDataPipeline.kakfaConsumer.TaskManagementConsumer;
 import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import com.epam.AsyncDataPipeline.service.impl.ScheduledTaskService;
+import com.epam.AsyncDataPipeline.service.impl.StaleTaskRecoveryService;
+import com.epam.AsyncDataPipeline.service.impl.TaskOutboxBacklog;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatisticsEngine;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "task.outbox.backpressure.max-backlog=100") // Reached on purpose by the outbox backpressure test
 @AutoConfigureMockMvc
 public class TaskManagementComponentTest {
     @Autowired
@@ -25,10 +57,56 @@ public class TaskManagementComponentTest {
     @Autowired
     private TaskManagementRepository taskRepository;
 
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private ScheduledTaskService scheduledTaskService;
+
+    @Autowired
+    private TaskManagementConsumer taskManagementConsumer;
+
+    @Autowired
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Autowired
+    private TaskOutboxBacklog taskOutboxBacklog;
+
+    @Autowired
+    private StaleTaskRecoveryService staleTaskRecoveryService;
+
+    private static final Set<Long> reportTaskIds = ConcurrentHashMap.newKeySet();
+
+    @TestConfiguration
+    static class ReportTaskHandlerConfig {
+
+        @Bean
+        TaskHandler reportTaskHandler() {
+            return new TaskHandler() {
+                @Override
+                public String getType() {
+                    return "report";
+                }
+
+                @Override
+                public void handle(TaskMessage taskMessage) {
+                    reportTaskIds.add(taskMessage.getId());
+                }
+            };
+        }
+    }
+
     private static TaskManagement savedTask;
 
     @BeforeAll
-    public static void setup(@Autowired TaskManagementRepository taskRepository) {  // Inject repository here
+    public static void setup(@Autowired TaskManagementRepository taskRepository,
+                             @Autowired TaskStatisticsEngine taskStatisticsEngine) {  // Inject repository here
         // Clear the database before running tests
         taskRepository.deleteAll();
 
@@ -39,6 +117,9 @@ public class TaskManagementComponentTest {
         taskRepository.save(new TaskManagement("Task 5", "Payload for Task 5", TaskStatus.COMPLETED));
         taskRepository.save(new TaskManagement("Task 6", "Payload for Task 6", TaskStatus.FAILED));
 
+        // Rows were inserted directly, so bring the in-memory statistics in line with the database
+        taskStatisticsEngine.reconcile();
+
     }
 
     @Test
@@ -51,12 +132,81 @@ public class TaskManagementComponentTest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/v1/taskManagement")  // Ensure the correct endpoint
+        MvcResult submitResult = mockMvc.perform(post("/api/v1/taskManagement")  // Ensure the correct endpoint
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(taskRequestJson))
+                .andExpect(request().asyncStarted()) // Request thread is released while the task is submitted
+                .andReturn();
+
+        String response = mockMvc.perform(asyncDispatch(submitResult))
                 .andExpect(status().isCreated()) // Expect HTTP 201 Created
                 .andExpect(jsonPath("$.name").value("New Task")) // Validate response
-                .andExpect(jsonPath("$.creationMessage").value("Task Management Initiation Started"));
+                .andExpect(jsonPath("$.creationMessage").value("Task Management Initiation Started"))
+                .andReturn().getResponse().getContentAsString();
+
+        // The task ID is queued in the outbox by the same transaction, ready for the relay
+        Number taskId = JsonPath.read(response, "$.id");
+        List<TaskOutbox> outboxEntries = taskOutboxRepository.findAll();
+        assertTrue(outboxEntries.stream().anyMatch(outboxEntry -> outboxEntry.getTaskId() == taskId.longValue()));
+    }
+
+    @Test
+    public void testSubmitTask_TypedNameRoutedToItsHandler() throws Exception {
+        MvcResult submitResult = mockMvc.perform(post("/api/v1/taskManagement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "report:weekly sales",
+                                    "payload": "Sample Payload"
+                                }
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mockMvc.perform(asyncDispatch(submitResult))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = JsonPath.<Number>read(response, "$.id").longValue();
+
+        try {
+            // No broker in tests, the consumer gets the message the outbox relay would have sent
+            TaskManagement task = taskRepository.findById(taskId).orElseThrow();
+            taskManagementConsumer.processTask(TaskMessage.of(task, Integer.MAX_VALUE)).get(5, TimeUnit.SECONDS);
+
+            assertTrue(reportTaskIds.contains(taskId));
+            assertEquals(TaskStatus.COMPLETED, taskRepository.findById(taskId).orElseThrow().getStatus());
+        } finally {
+            transactionTemplate.executeWithoutResult(transactionStatus -> {
+                taskOutboxRepository.deleteAll(taskOutboxRepository.findAll().stream()
+                        .filter(outboxEntry -> outboxEntry.getTaskId() == taskId.longValue()).toList());
+                taskRepository.deleteById(taskId);
+            });
+            // The other tests count the tasks, forget this one
+            taskStatisticsEngine.reconcile();
+        }
+    }
+
+    @Test
+    public void testSubmitTask_ThrottledWhileOutboxGrows() throws Exception {
+        // The relay is disabled in tests, so nothing drains these entries
+        List<TaskOutbox> backlog = taskOutboxRepository.saveAll(LongStream.range(0, 100)
+                .mapToObj(index -> new TaskOutbox(20_000L + index)).toList());
+        try {
+            taskOutboxBacklog.sample();
+
+            mockMvc.perform(post("/api/v1/taskManagement")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "Throttled Task",
+                                        "payload": "Sample Payload"
+                                    }
+                                    """))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            taskOutboxRepository.deleteAllInBatch(backlog);
+            taskOutboxBacklog.sample();
+        }
     }
 
     @Test
@@ -77,6 +227,34 @@ public class TaskManagementComponentTest {
                 .andExpect(jsonPath("$.message").value("Name must be at most 50 characters")); // Adjust based on your validation message
     }
 
+    @Test
+    public void testSubmitTasks_InvalidInput_EmptyBatch() throws Exception {
+        String emptyBatchJson = """
+                {
+                    "tasks": []
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/taskManagement/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(emptyBatchJson))
+                .andExpect(status().isBadRequest()) // Expect HTTP 400 Bad Request
+                .andExpect(jsonPath("$.message").value("Tasks cannot be empty"));
+    }
+
+    @Test
+    public void testSubmitTasks_InvalidInput_BatchTooLarge() throws Exception {
+        String task = """
+                {"name": "Task", "payload": "Payload"}""";
+        String oversizedBatchJson = "{\"tasks\": [" + String.join(",", Collections.nCopies(TaskManagementConstants.MAX_BATCH_SIZE + 1, task)) + "]}";
+
+        mockMvc.perform(post("/api/v1/taskManagement/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oversizedBatchJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A batch can contain at most " + TaskManagementConstants.MAX_BATCH_SIZE + " tasks"));
+    }
+
 
     @Test
     public void testGetAllTasks_Success() throws Exception {
@@ -109,6 +287,170 @@ public class TaskManagementComponentTest {
                 .andExpect(jsonPath("$.message").value("Task with id " + invalidId + " not found")); // Assert error message
     }
 
+    @Test
+    public void testGetTaskStatuses() throws Exception {
+        mockMvc.perform(get("/api/v1/taskManagement/status")
+                        .param("ids", savedTask.getId() + ",999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statuses['" + savedTask.getId() + "'].status").value(savedTask.getStatus().toString()))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(999));
+    }
+
+    @Test
+    public void testStreamTaskStatus() throws Exception {
+        long taskId = 10_001L; // cached only, status transitions are published by the cache
+        taskStatusCache.put(taskId, TaskStatus.PENDING);
+
+        MvcResult streamResult = mockMvc.perform(get("/api/v1/taskManagement/status/" + taskId + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        taskStatusCache.put(taskId, TaskStatus.PROCESSING);
+        taskStatusCache.put(taskId, TaskStatus.PROCESSING); // not a transition, not sent twice
+        taskStatusCache.put(taskId, TaskStatus.COMPLETED);
+        streamResult.getAsyncResult(5000); // the stream completes with COMPLETED
+
+        String events = streamResult.getResponse().getContentAsString();
+        assertEquals(List.of("PENDING", "PROCESSING", "COMPLETED"), events.lines()
+                .filter(line -> line.startsWith("data:"))
+                .map(line -> JsonPath.<String>read(line.substring("data:".length()), "$.status"))
+                .toList());
+        assertTrue(events.contains("event:status"));
+    }
+
+    @Test
+    public void testPollTaskStatus_AnswersOnTransition() throws Exception {
+        long taskId = 10_002L;
+        taskStatusCache.put(taskId, TaskStatus.PENDING);
+
+        MvcResult pollResult = mockMvc.perform(get("/api/v1/taskManagement/status/" + taskId + "/poll")
+                        .param("knownStatus", "PENDING")
+                        .param("timeoutMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        taskStatusCache.put(taskId, TaskStatus.PROCESSING);
+
+        mockMvc.perform(asyncDispatch(pollResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PROCESSING"));
+
+        // A client that is behind gets the current status without waiting
+        MvcResult behindResult = mockMvc.perform(get("/api/v1/taskManagement/status/" + taskId + "/poll")
+                        .param("knownStatus", "PENDING"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(behindResult))
+                .andExpect(jsonPath("$.status").value("PROCESSING"));
+    }
+
+    @Test
+    public void testPollTaskStatus_AnswersWithALaterStatusAfterADroppedEvent() throws Exception {
+        long taskId = 10_003L;
+        taskStatusCache.put(taskId, TaskStatus.PENDING);
+
+        MvcResult pollResult = mockMvc.perform(get("/api/v1/taskManagement/status/" + taskId + "/poll")
+                        .param("knownStatus", "PENDING")
+                        .param("timeoutMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        taskStatusCache.put(taskId, TaskStatus.COMPLETED); // the PROCESSING event never arrived
+
+        mockMvc.perform(asyncDispatch(pollResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    public void testPollTaskStatus_NonPositiveTimeoutRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/taskManagement/status/" + savedTask.getId() + "/poll")
+                        .param("timeoutMs", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Timeout must be positive"));
+    }
+
+    @Test
+    public void testLifecycleTimestamps() {
+        TaskManagement task = taskRepository.save(new TaskManagement("Timed task", "Payload", TaskStatus.PENDING));
+        try {
+            assertNotNull(task.getCreatedAt());
+
+            Instant startedAt = Instant.now();
+            assertEquals(1, taskRepository.startByIdAndStatus(task.getId(), TaskStatus.PENDING, TaskStatus.PROCESSING, startedAt));
+            Instant finishedAt = startedAt.plusMillis(250);
+            assertEquals(1, taskRepository.finishByIdAndStatus(task.getId(), TaskStatus.PROCESSING, TaskStatus.COMPLETED, finishedAt));
+            // A redelivered completion does not move the finish time
+            assertEquals(0, taskRepository.finishByIdAndStatus(task.getId(), TaskStatus.PROCESSING, TaskStatus.COMPLETED, finishedAt.plusSeconds(1)));
+
+            TaskManagement finishedTask = taskRepository.findById(task.getId()).orElseThrow();
+            assertEquals(TaskStatus.COMPLETED, finishedTask.getStatus());
+            assertEquals(task.getCreatedAt().toEpochMilli(), finishedTask.getCreatedAt().toEpochMilli());
+            assertEquals(startedAt.toEpochMilli(), finishedTask.getStartedAt().toEpochMilli());
+            assertEquals(finishedAt.toEpochMilli(), finishedTask.getFinishedAt().toEpochMilli());
+        } finally {
+            taskRepository.deleteById(task.getId());
+        }
+    }
+
+    @Test
+    public void testScheduledTaskReleasedWhenDue() throws Exception {
+        TaskManagement task = new TaskManagement("Scheduled task", "Payload", TaskStatus.SCHEDULED);
+        task.setDueAt(Instant.now().plusMillis(300));
+        task = taskRepository.save(task);
+        Long taskId = task.getId();
+        try {
+            scheduledTaskService.schedule(taskId, task.getDueAt());
+            assertEquals(TaskStatus.SCHEDULED, taskRepository.findById(taskId).orElseThrow().getStatus());
+
+            // Released by the timing wheel within a tick of its due time
+            long deadline = System.currentTimeMillis() + 5000;
+            while (taskRepository.findById(taskId).orElseThrow().getStatus() == TaskStatus.SCHEDULED
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(TaskStatus.PENDING, taskRepository.findById(taskId).orElseThrow().getStatus());
+            assertEquals(TaskStatus.PENDING, taskStatusCache.get(taskId).getStatus());
+            List<TaskOutbox> outboxEntries = taskOutboxRepository.findAll();
+            assertTrue(outboxEntries.stream().anyMatch(outboxEntry -> outboxEntry.getTaskId() == taskId.longValue()));
+        } finally {
+            transactionTemplate.executeWithoutResult(transactionStatus -> {
+                taskOutboxRepository.deleteAll(taskOutboxRepository.findAll().stream()
+                        .filter(outboxEntry -> outboxEntry.getTaskId() == taskId.longValue()).toList());
+                taskRepository.deleteById(taskId);
+            });
+        }
+    }
+
+    @Test
+    public void testAbandonedProcessingTasksRecovered() {
+        // Started two hours ago by a consumer that never finished them
+        TaskManagement abandonedTask = new TaskManagement("Abandoned task", "Payload", TaskStatus.PROCESSING);
+        abandonedTask.setStartedAt(Instant.now().minusSeconds(7200));
+        TaskManagement expiredTask = new TaskManagement("Expired task", "Payload", TaskStatus.PROCESSING);
+        expiredTask.setCreatedAt(Instant.now().minusSeconds(2 * 86400));
+        expiredTask.setStartedAt(Instant.now().minusSeconds(7200));
+        TaskManagement runningTask = new TaskManagement("Running task", "Payload", TaskStatus.PROCESSING);
+        runningTask.setStartedAt(Instant.now());
+        List<Long> taskIds = taskRepository.saveAll(List.of(abandonedTask, expiredTask, runningTask)).stream()
+                .map(TaskManagement::getId).toList();
+        try {
+            staleTaskRecoveryService.sweep();
+
+            // Re-dispatched through the outbox, too old to retry, and left running
+            assertEquals(TaskStatus.PENDING, taskRepository.findById(taskIds.get(0)).orElseThrow().getStatus());
+            assertEquals(TaskStatus.FAILED, taskRepository.findById(taskIds.get(1)).orElseThrow().getStatus());
+            assertEquals(TaskStatus.PROCESSING, taskRepository.findById(taskIds.get(2)).orElseThrow().getStatus());
+            List<Long> outboxTaskIds = taskOutboxRepository.findAll().stream().map(TaskOutbox::getTaskId).toList();
+            assertTrue(outboxTaskIds.contains(taskIds.get(0)));
+            assertFalse(outboxTaskIds.contains(taskIds.get(1)));
+        } finally {
+            transactionTemplate.executeWithoutResult(transactionStatus -> {
+                taskOutboxRepository.deleteAll(taskOutboxRepository.findAll().stream()
+                        .filter(outboxEntry -> taskIds.contains(outboxEntry.getTaskId())).toList());
+                taskRepository.deleteAllById(taskIds);
+            });
+            // The other tests count the tasks, forget these
+            taskStatisticsEngine.reconcile();
+        }
+    }
+
     @Test
     public void testGetTaskStatistics() throws Exception {
         mockMvc.perform(get("/api/v1/taskManagement/statistics")
@@ -151,6 +493,86 @@ public class TaskManagementComponentTest {
                 .andExpect(jsonPath("$[1].name").value("Task 5")); // Second task should be "Task 5"
     }
 
+    @Test
+    public void testGetTasksAfter_FollowsCursor() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/taskManagement/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("size", "2")
+                        .param("sortBy", "name")
+                        .param("sortDir", "desc"))
+                .andExpect(status().isOk()) // Expect HTTP 200 OK
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.tasks[0].name").value("Task 6"))
+                .andExpect(jsonPath("$.tasks[1].name").value("Task 5"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/taskManagement/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("after", nextCursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.tasks[0].name").value("Task 4")) // Cursor keeps the name descending order
+                .andExpect(jsonPath("$.tasks[1].name").value("Task 3"));
+    }
+
+    @Test
+    public void testGetTasksAfter_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/taskManagement/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: 'not-a-cursor'"));
+    }
+
+    @Test
+    public void testGetTasksAfter_InvalidSize() throws Exception {
+        mockMvc.perform(get("/api/v1/taskManagement/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Size must be at least 1"));
+
+        mockMvc.perform(get("/api/v1/taskManagement/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("size", String.valueOf(TaskManagementConstants.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Size must be at most " + TaskManagementConstants.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    public void testExportTasks_FilteredByStatusAndIdRange() throws Exception {
+        MvcResult exportResult = mockMvc.perform(get("/api/v1/taskManagement/export")
+                        .param("status", "COMPLETED")
+                        .param("toId", savedTask.getId().toString())) // Task 1 to Task 4
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(exportResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("Task 1", JsonPath.read(lines[0], "$.name"));
+        assertEquals("Task 2", JsonPath.read(lines[1], "$.name"));
+    }
+
+    @Test
+    public void testCacheSizesEndpoint() throws Exception {
+        mockMvc.perform(get("/api/v1/taskManagement/status/" + savedTask.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/cachesizes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskManagement.maximumSize").value(500)) // from task.cache.specs
+                .andExpect(jsonPath("$.taskManagement.estimatedSize").isNumber())
+                .andExpect(jsonPath("$.taskManagementNotFound.maximumSize").value(1000)); // task.cache.defaults
+    }
+
     @Test
     public void testGetAllTasks_InvalidSortDirection() throws Exception {
         mockMvc.perform(get("/api/v1/taskManagement")
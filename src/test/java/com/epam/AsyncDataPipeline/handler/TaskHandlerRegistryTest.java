@@ -0,0 +1,131 @@
+package com.epam.AsyncDataPipeline.handler;
+
+import com.epam.AsyncDataPipeline.config.TaskExecutorConfig;
+import com.epam.AsyncDataPipeline.config.TaskHandlerProperties;
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskHandlerRegistryTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CountDownLatch slowHandlerReleased = new CountDownLatch(1);
+
+    private final TaskHandlerRegistry taskHandlerRegistry = new TaskHandlerRegistry();
+
+    @BeforeEach
+    void setUp() {
+        TaskExecutorConfig taskExecutorConfig = new TaskExecutorConfig();
+        ReflectionTestUtils.setField(taskExecutorConfig, "registry", registry);
+
+        // The slow handler runs one task at a time and queues one more
+        TaskHandlerProperties.BulkheadSpec slowSpec = new TaskHandlerProperties.BulkheadSpec();
+        slowSpec.setConcurrency(1);
+        slowSpec.setQueueCapacity(1);
+        TaskHandlerProperties taskHandlerProperties = new TaskHandlerProperties();
+        taskHandlerProperties.getSpecs().put("slow", slowSpec);
+        taskHandlerProperties.setRejectedRetryDelayMs(10);
+
+        TaskHandler slowHandler = new TaskHandler() {
+            @Override
+            public String getType() {
+                return "slow";
+            }
+
+            @Override
+            public void handle(TaskMessage taskMessage) throws Exception {
+                slowHandlerReleased.await(5, TimeUnit.SECONDS);
+            }
+        };
+        TaskHandler failingHandler = new TaskHandler() {
+            @Override
+            public String getType() {
+                return "failing";
+            }
+
+            @Override
+            public void handle(TaskMessage taskMessage) {
+                if (taskMessage.getName().endsWith("error")) {
+                    throw new AssertionError("Handler broke");
+                }
+                throw new IllegalStateException("Handler failed");
+            }
+        };
+
+        ReflectionTestUtils.setField(taskHandlerRegistry, "taskHandlers", List.of(new DefaultTaskHandler(), slowHandler, failingHandler));
+        ReflectionTestUtils.setField(taskHandlerRegistry, "taskHandlerProperties", taskHandlerProperties);
+        ReflectionTestUtils.setField(taskHandlerRegistry, "taskExecutorConfig", taskExecutorConfig);
+        ReflectionTestUtils.setField(taskHandlerRegistry, "registry", registry);
+        taskHandlerRegistry.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowHandlerReleased.countDown();
+    }
+
+    @Test
+    void testTypeOf_PrefixBeforeSeparatorOrWholeName() {
+        assertEquals("report", TaskHandlerRegistry.typeOf("report:weekly"));
+        assertEquals("Task 1", TaskHandlerRegistry.typeOf("Task 1"));
+        assertEquals("default", TaskHandlerRegistry.typeOf(null));
+    }
+
+    @Test
+    void testSubmit_RoutesByTypeAndFallsBackToDefault() {
+        taskHandlerRegistry.submit(taskMessage(1L, "Task 1")).join();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> taskHandlerRegistry.submit(taskMessage(2L, "failing:now")).join());
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(1, registry.get("tasks.handler.duration").tags("handler", "default", "outcome", "succeeded").timer().count());
+        assertEquals(1, registry.get("tasks.handler.duration").tags("handler", "failing", "outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testSubmit_HandlerErrorCompletesTheFuture() {
+        CompletableFuture<Void> handled = taskHandlerRegistry.submit(taskMessage(1L, "failing:error"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> handled.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertEquals(1, registry.get("tasks.handler.duration").tags("handler", "failing", "outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testSubmit_FullHandlerHoldsTasksBackWithoutBlockingOthers() {
+        CompletableFuture<Void> running = taskHandlerRegistry.submit(taskMessage(1L, "slow:1"));
+        CompletableFuture<Void> queued = taskHandlerRegistry.submit(taskMessage(2L, "slow:2"));
+        CompletableFuture<Void> heldBack = taskHandlerRegistry.submit(taskMessage(3L, "slow:3"));
+
+        // The default handler has its own threads
+        assertDoesNotThrow(() -> taskHandlerRegistry.submit(taskMessage(4L, "Task 4")).get(5, TimeUnit.SECONDS));
+        assertFalse(running.isDone());
+        assertFalse(heldBack.isDone());
+        assertTrue(registry.get("tasks.handler.rejected").tag("handler", "slow").counter().count() >= 1.0);
+
+        // Offered again until the queue takes it, then handled like the others
+        slowHandlerReleased.countDown();
+        assertDoesNotThrow(() -> CompletableFuture.allOf(running, queued, heldBack).get(5, TimeUnit.SECONDS));
+        assertEquals(3, registry.get("tasks.handler.duration").tags("handler", "slow", "outcome", "succeeded").timer().count());
+    }
+
+    private static TaskMessage taskMessage(Long id, String name) {
+        return new TaskMessage(id, name, TaskStatus.PENDING, "Payload " + id, false);
+    }
+}
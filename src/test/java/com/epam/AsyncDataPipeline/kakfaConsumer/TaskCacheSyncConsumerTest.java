@@ -0,0 +1,80 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.constants.TaskManagementConstants;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskCacheSyncProducer;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCacheSyncConsumerTest {
+
+    @InjectMocks
+    private TaskCacheSyncConsumer taskCacheSyncConsumer;
+
+    @Mock
+    private TaskCacheSyncProducer taskCacheSyncProducer;
+
+    @Mock
+    private TaskStatusCache taskStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        when(taskCacheSyncProducer.getNodeId()).thenReturn("node-a");
+        ReflectionTestUtils.setField(taskCacheSyncConsumer, "partitions", 3);
+        taskCacheSyncConsumer.init();
+    }
+
+    @Test
+    void testApplyCacheSync_AppliesUpdatesFromOtherNodes() {
+        taskCacheSyncConsumer.applyCacheSync(record("node-b", "7", "COMPLETED"));
+        taskCacheSyncConsumer.applyCacheSync(record("node-b", "8", null));
+
+        verify(taskStatusCache).putLocal(7L, TaskStatus.COMPLETED);
+        verify(taskStatusCache).evictLocal(List.of(8L));
+    }
+
+    @Test
+    void testOnPartitionsAssigned_ReadsAllPartitionsFromTheirEnd() {
+        ConsumerSeekAware.ConsumerSeekCallback callback = mock(ConsumerSeekAware.ConsumerSeekCallback.class);
+        Map<TopicPartition, Long> assignments = Map.of(
+                new TopicPartition("taskManagementCacheSync", 0), 12L,
+                new TopicPartition("taskManagementCacheSync", 2), 40L);
+
+        taskCacheSyncConsumer.onPartitionsAssigned(assignments, callback);
+
+        verify(callback).seekToEnd(assignments.keySet());
+        assertEquals("0-2", taskCacheSyncConsumer.partitionRange);
+    }
+
+    @Test
+    void testApplyCacheSync_SkipsOwnAndMalformedRecords() {
+        taskCacheSyncConsumer.applyCacheSync(record("node-a", "7", "COMPLETED"));
+        taskCacheSyncConsumer.applyCacheSync(record("node-b", "not-a-number", "COMPLETED"));
+        taskCacheSyncConsumer.applyCacheSync(record("node-b", "7", "UNKNOWN"));
+
+        verifyNoInteractions(taskStatusCache);
+    }
+
+    private static ConsumerRecord<String, String> record(String nodeId, String key, String value) {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("taskManagementCacheSync", 0, 0L, key, value);
+        record.headers().add(TaskManagementConstants.CACHE_SYNC_NODE_HEADER, nodeId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
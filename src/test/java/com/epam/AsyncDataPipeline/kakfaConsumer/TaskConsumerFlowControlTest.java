@@ -0,0 +1,127 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.config.TaskHandlerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskConsumerFlowControlTest {
+
+    @InjectMocks
+    private TaskConsumerFlowControl taskConsumerFlowControl;
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Spy
+    private MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaskHandlerProperties taskHandlerProperties = new TaskHandlerProperties();
+
+    @Mock
+    private MessageListenerContainer taskContainer;
+
+    @Mock
+    private MessageListenerContainer cacheSyncContainer;
+
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "enabled", true);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "inFlightHigh", 10);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "inFlightLow", 5);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "dbPendingHigh", 4.0);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "dbPendingLow", 1.0);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "executorQueueHigh", 100.0);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "executorQueueLow", 10.0);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "handlerQueueHigh", 0.8);
+        ReflectionTestUtils.setField(taskConsumerFlowControl, "handlerQueueLow", 0.2);
+        taskConsumerFlowControl.init();
+        Gauge.builder("hikaricp.connections.pending", pendingConnections, AtomicInteger::get).register(registry);
+
+        lenient().when(taskContainer.getListenerId()).thenReturn("taskConsumer");
+        lenient().when(cacheSyncContainer.getListenerId()).thenReturn("org.springframework.kafka.KafkaListenerEndpointContainer#1");
+        lenient().when(kafkaListenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(taskContainer, cacheSyncContainer));
+    }
+
+    @Test
+    void testCheck_PausesAtHighAndResumesAtLowWatermark() {
+        taskConsumerFlowControl.taskStarted(10);
+        taskConsumerFlowControl.check();
+
+        assertTrue(taskConsumerFlowControl.isPaused());
+        verify(taskContainer, times(1)).pause();
+        verify(cacheSyncContainer, never()).pause(); // Only the task listeners are paused
+
+        // Between the watermarks the containers stay paused
+        taskConsumerFlowControl.taskFinished(3);
+        taskConsumerFlowControl.check();
+        assertTrue(taskConsumerFlowControl.isPaused());
+
+        taskConsumerFlowControl.taskFinished(2);
+        taskConsumerFlowControl.check();
+
+        assertFalse(taskConsumerFlowControl.isPaused());
+        verify(taskContainer, times(1)).resume();
+        assertEquals(1, registry.get("tasks.consumer.flow.pause").tag("reason", "in-flight").timer().count());
+    }
+
+    @Test
+    void testCheck_PausesWhileConnectionsAreScarce() {
+        pendingConnections.set(4);
+        taskConsumerFlowControl.check();
+
+        assertTrue(taskConsumerFlowControl.isPaused());
+        assertEquals(1.0, registry.get("tasks.consumer.flow.paused").gauge().value());
+
+        pendingConnections.set(1);
+        taskConsumerFlowControl.check();
+
+        assertFalse(taskConsumerFlowControl.isPaused());
+        assertEquals(1, registry.get("tasks.consumer.flow.pause").tag("reason", "db-pending").timer().count());
+    }
+
+    @Test
+    void testCheck_PausesWhileAnyHandlerQueueIsFull() {
+        TaskHandlerProperties.BulkheadSpec reportSpec = new TaskHandlerProperties.BulkheadSpec();
+        reportSpec.setQueueCapacity(10);
+        taskHandlerProperties.getSpecs().put("report", reportSpec);
+        AtomicInteger reportQueued = new AtomicInteger();
+        AtomicInteger defaultQueued = new AtomicInteger(100);
+        Gauge.builder("executor.queued", reportQueued, AtomicInteger::get).tag("name", "task-handler-report").register(registry);
+        Gauge.builder("executor.queued", defaultQueued, AtomicInteger::get).tag("name", "task-handler-default").register(registry);
+
+        // 100 of the default 1000 is below the watermark, 8 of 10 on a typed handler reaches it
+        taskConsumerFlowControl.check();
+        assertFalse(taskConsumerFlowControl.isPaused());
+
+        reportQueued.set(8);
+        taskConsumerFlowControl.check();
+        assertTrue(taskConsumerFlowControl.isPaused());
+
+        reportQueued.set(2);
+        taskConsumerFlowControl.check();
+
+        assertFalse(taskConsumerFlowControl.isPaused());
+        assertEquals(1, registry.get("tasks.consumer.flow.pause").tag("reason", "handler-queue").timer().count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.handler.TaskHandlerRegistry;
+import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskManagementBatchConsumerTest {
+
+    @InjectMocks
+    private TaskManagementBatchConsumer taskManagementBatchConsumer;
+
+    @Mock
+    private TaskManagementService taskManagementService;
+
+    @Mock
+    private TaskMetricsService taskMetricsService;
+
+    @Mock
+    private TaskConsumerFlowControl taskConsumerFlowControl;
+
+    @Mock
+    private TaskHandlerRegistry taskHandlerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskManagementBatchConsumer, "simulatedDelayMs", 0L);
+    }
+
+    @Test
+    void testProcessTasks_UsesSetBasedUpdates() {
+        when(taskManagementService.startTasks(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L, 3L));
+        when(taskHandlerRegistry.submit(any(TaskMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        taskManagementBatchConsumer.processTasks(List.of(taskMessage(1L), taskMessage(2L), taskMessage(2L), taskMessage(3L)));
+
+        verify(taskManagementService, times(1)).startTasks(Set.of(1L, 2L, 3L));
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(1L, 2L, 3L), TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(), TaskStatus.PROCESSING, TaskStatus.FAILED);
+        verifyNoMoreInteractions(taskManagementService);
+        verify(taskMetricsService, times(3)).recordQueueWait(any(), any(Instant.class));
+        verify(taskMetricsService, times(3)).recordProcessing(any(Instant.class), any(Instant.class), eq(TaskStatus.COMPLETED));
+        verify(taskConsumerFlowControl).taskStarted(3);
+        verify(taskConsumerFlowControl).taskFinished(3);
+    }
+
+    @Test
+    void testProcessTasks_OnlyStartedTasksAreProcessed() {
+        // Task 2 was started by another delivery, task 3 already finished
+        when(taskManagementService.startTasks(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L));
+        when(taskHandlerRegistry.submit(any(TaskMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        taskManagementBatchConsumer.processTasks(List.of(taskMessage(1L), taskMessage(2L), taskMessage(3L)));
+
+        verify(taskHandlerRegistry, times(1)).submit(argThat(message -> message.getId() == 1L));
+        verifyNoMoreInteractions(taskHandlerRegistry);
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(1L), TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(), TaskStatus.PROCESSING, TaskStatus.FAILED);
+        verify(taskConsumerFlowControl).taskFinished(3);
+    }
+
+    @Test
+    void testProcessTasks_FailedHandlerFailsOnlyItsTask() {
+        when(taskManagementService.startTasks(Set.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(taskHandlerRegistry.submit(any(TaskMessage.class))).thenAnswer(invocation ->
+                invocation.<TaskMessage>getArgument(0).getId() == 2L
+                        ? CompletableFuture.failedFuture(new IllegalStateException("Handler failed"))
+                        : CompletableFuture.completedFuture(null));
+
+        taskManagementBatchConsumer.processTasks(List.of(taskMessage(1L), taskMessage(2L)));
+
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(1L), TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+        verify(taskManagementService, times(1)).updateTaskStatuses(List.of(2L), TaskStatus.PROCESSING, TaskStatus.FAILED);
+    }
+
+    @Test
+    void testProcessTasks_SkipsInvalidMessages() {
+        taskManagementBatchConsumer.processTasks(Collections.singletonList(null)); // record that failed to deserialize
+
+        verifyNoInteractions(taskManagementService);
+    }
+
+    private static TaskMessage taskMessage(Long id) {
+        return new TaskMessage(id, "Task " + id, TaskStatus.PENDING, "Payload " + id, false);
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.TaskProcessingException;
+import com.epam.AsyncDataPipeline.handler.TaskHandlerRegistry;
+import com.epam.AsyncDataPipeline.service.TaskManagementService;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskManagementConsumerTest {
+
+    @InjectMocks
+    private TaskManagementConsumer taskManagementConsumer;
+
+    @Mock
+    private TaskManagementService taskManagementService;
+
+    @Mock
+    private TaskMetricsService taskMetricsService;
+
+    @Mock
+    private TaskConsumerFlowControl taskConsumerFlowControl;
+
+    @Mock
+    private TaskHandlerRegistry taskHandlerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskManagementConsumer, "simulatedDelayMs", 0L);
+    }
+
+    @Test
+    void testProcessTask_CompletesThroughItsHandler() throws Exception {
+        ReflectionTestUtils.setField(taskManagementConsumer, "taskStatusUpdateExecutor", (Executor) Runnable::run);
+        when(taskManagementService.updateTaskStatus(1L, TaskStatus.PROCESSING)).thenReturn(true);
+        when(taskHandlerRegistry.submit(any(TaskMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        taskManagementConsumer.processTask(taskMessage(1L)).get(5, TimeUnit.SECONDS);
+
+        verify(taskManagementService, times(1)).updateTaskStatus(1L, TaskStatus.COMPLETED);
+        verify(taskConsumerFlowControl, times(1)).taskStarted(1);
+        verify(taskConsumerFlowControl, times(1)).taskFinished(1);
+    }
+
+    @Test
+    void testProcessTask_SaturatedExecutorDoesNotLeakInFlight() {
+        ReflectionTestUtils.setField(taskManagementConsumer, "taskStatusUpdateExecutor", (Executor) task -> {
+            throw new RejectedExecutionException("Queue full");
+        });
+
+        // Retried through the retry topic, the task is still PENDING
+        assertThrows(TaskProcessingException.class, () -> taskManagementConsumer.processTask(taskMessage(1L)));
+
+        verify(taskConsumerFlowControl, times(1)).taskStarted(1);
+        verify(taskConsumerFlowControl, times(1)).taskFinished(1);
+        verifyNoInteractions(taskManagementService);
+    }
+
+    private static TaskMessage taskMessage(Long id) {
+        return new TaskMessage(id, "Task " + id, TaskStatus.PENDING, "Payload " + id, false);
+    }
+}
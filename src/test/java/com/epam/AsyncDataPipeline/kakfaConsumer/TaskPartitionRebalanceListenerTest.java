@@ -0,0 +1,50 @@
+package com.epam.AsyncDataPipeline.kakfaConsumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskPartitionRebalanceListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final TaskPartitionRebalanceListener rebalanceListener = new TaskPartitionRebalanceListener();
+
+    private final TopicPartition partition0 = new TopicPartition("tasks", 0);
+    private final TopicPartition partition1 = new TopicPartition("tasks", 1);
+    private final TopicPartition partition2 = new TopicPartition("tasks", 2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rebalanceListener, "registry", registry);
+        rebalanceListener.init();
+    }
+
+    @Test
+    void testCooperativeRebalance_OnlyMovedPartitionsChange() {
+        rebalanceListener.onPartitionsAssigned(null, List.of(partition0, partition1, partition2));
+        // A node joined: only partition 2 moves, the others keep being consumed
+        rebalanceListener.onPartitionsRevokedAfterCommit(null, List.of(partition2));
+        rebalanceListener.onPartitionsAssigned(null, List.of());
+
+        assertEquals(2, rebalanceListener.getAssignedPartitionCount());
+        assertEquals(2.0, registry.get("tasks.consumer.partitions.assigned").gauge().value());
+        assertEquals(3.0, registry.get("tasks.consumer.rebalance.partitions").tag("event", "assigned").counter().count());
+        assertEquals(1.0, registry.get("tasks.consumer.rebalance.partitions").tag("event", "revoked").counter().count());
+    }
+
+    @Test
+    void testPartitionsLost() {
+        rebalanceListener.onPartitionsAssigned(null, List.of(partition0, partition1));
+        rebalanceListener.onPartitionsLost(null, List.of(partition0, partition1));
+
+        assertEquals(0, rebalanceListener.getAssignedPartitionCount());
+        assertEquals(2.0, registry.get("tasks.consumer.rebalance.partitions").tag("event", "lost").counter().count());
+    }
+}
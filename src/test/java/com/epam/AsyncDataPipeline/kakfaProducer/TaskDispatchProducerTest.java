@@ -0,0 +1,90 @@
+package com.epam.AsyncDataPipeline.kakfaProducer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDispatchProducerTest {
+
+    @InjectMocks
+    private TaskDispatchProducer taskDispatchProducer;
+
+    @Mock
+    private KafkaTemplate<String, TaskMessage> kafkaTemplate;
+
+    @Mock
+    private TaskMetricsService taskMetricsService;
+
+    private final TaskMessage taskMessage = new TaskMessage(7L, "Task 7", TaskStatus.PENDING, "Payload 7", false);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskDispatchProducer, "topicName", "taskManagementTest2");
+    }
+
+    @Test
+    void testSend_TracksInFlightUntilAcknowledged() {
+        CompletableFuture<SendResult<String, TaskMessage>> brokerAck = new CompletableFuture<>();
+        when(kafkaTemplate.send("taskManagementTest2", "7", taskMessage)).thenReturn(brokerAck);
+
+        CompletableFuture<SendResult<String, TaskMessage>> sendFuture = taskDispatchProducer.send(taskMessage);
+
+        assertEquals(1, taskDispatchProducer.getInFlight());
+
+        brokerAck.complete(null);
+
+        assertTrue(sendFuture.isDone());
+        assertEquals(0, taskDispatchProducer.getInFlight());
+        verify(taskMetricsService, times(1)).recordDispatchLatency(anyLong());
+    }
+
+    @Test
+    void testSend_FailedAckIsReportedWithoutLatency() {
+        when(kafkaTemplate.send("taskManagementTest2", "7", taskMessage)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Not acknowledged")));
+
+        CompletableFuture<SendResult<String, TaskMessage>> sendFuture = taskDispatchProducer.send(taskMessage);
+
+        assertTrue(sendFuture.isCompletedExceptionally());
+        assertEquals(0, taskDispatchProducer.getInFlight());
+        verify(taskMetricsService, never()).recordDispatchLatency(anyLong());
+    }
+
+    @Test
+    void testSend_KeyedByTaskId() {
+        TaskMessage sameNameMessage = new TaskMessage(8L, "Task 7", TaskStatus.PENDING, null, true);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        taskDispatchProducer.send(taskMessage);
+        taskDispatchProducer.send(sameNameMessage);
+
+        // Tasks sharing a name are still spread over the partitions
+        verify(kafkaTemplate).send("taskManagementTest2", "7", taskMessage);
+        verify(kafkaTemplate).send("taskManagementTest2", "8", sameNameMessage);
+    }
+
+    @Test
+    void testSend_BlockedBufferFailsTheFuture() {
+        when(kafkaTemplate.send("taskManagementTest2", "7", taskMessage)).thenThrow(new TimeoutException("Buffer full"));
+
+        CompletableFuture<SendResult<String, TaskMessage>> sendFuture = taskDispatchProducer.send(taskMessage);
+
+        assertTrue(sendFuture.isCompletedExceptionally());
+        assertEquals(0, taskDispatchProducer.getInFlight());
+    }
+}
@@ -0,0 +1,205 @@
+package com.epam.AsyncDataPipeline.loadTests;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusEventBus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the whole pipeline on one node: HTTP submit through {@code TaskManagementController}, outbox relay,
+ * embedded Kafka broker, {@code TaskManagementConsumer} and the status update to COMPLETED.
+ * <p>
+ * {@code load.concurrency} clients submit {@code load.tasks} tasks in total, each client waiting for its submit
+ * to be answered before sending the next one. Submit latency and submit-to-COMPLETED latency are recorded in
+ * HDR histograms, completion is observed through the {@link TaskStatusEventBus}. The results are written to
+ * {@code load.report} as JSON, next to the full end-to-end percentile distribution ({@code .hgrm}).
+ * <p>
+ * Tagged {@code load}, so it only runs with {@code mvn -P load-test test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "task.consumer.mode=record",
+        "task.outbox.relay.enabled=true",
+        "task.outbox.relay-interval-ms=5",
+        "task.processing.simulated-delay-ms=${load.simulated-delay-ms:0}",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.epam=WARN",
+        "logging.level.org.apache.kafka=WARN"
+})
+@EmbeddedKafka(partitions = 3, topics = "taskManagementTest2", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+public class TaskPipelineLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int tasks = Integer.getInteger("load.tasks", 2000);
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+
+    private final long completionTimeoutSeconds = Long.getLong("load.completion-timeout-seconds", 300);
+
+    private final String reportPath = System.getProperty("load.report", "target/load-test-report.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskStatusEventBus taskStatusEventBus;
+
+    @Autowired
+    private TaskStatusCache taskStatusCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Recorder submitLatency = new Recorder(HIGHEST_TRACKABLE_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+
+    private final Recorder endToEndLatency = new Recorder(HIGHEST_TRACKABLE_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+
+    @Test
+    public void testPipelineThroughputAndLatency() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        URI submitUri = URI.create("http://localhost:" + port + "/api/v1/taskManagement");
+        CountDownLatch completed = new CountDownLatch(tasks);
+        AtomicInteger remaining = new AtomicInteger(tasks);
+        AtomicInteger failedSubmissions = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long startNanos = System.nanoTime();
+        for (int client = 0; client < concurrency; client++) {
+            clients.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    if (!submit(httpClient, submitUri, completed)) {
+                        failedSubmissions.incrementAndGet();
+                        completed.countDown();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(completionTimeoutSeconds, TimeUnit.SECONDS), "Submissions did not finish in time");
+        long submittedNanos = System.nanoTime() - startNanos;
+        boolean allCompleted = completed.await(completionTimeoutSeconds, TimeUnit.SECONDS);
+        long completedNanos = System.nanoTime() - startNanos;
+
+        Histogram submitHistogram = submitLatency.getIntervalHistogram();
+        Histogram endToEndHistogram = endToEndLatency.getIntervalHistogram();
+        writeReport(submitHistogram, endToEndHistogram, failedSubmissions.get(), submittedNanos, completedNanos, completed.getCount());
+
+        assertTrue(allCompleted, completed.getCount() + " tasks did not complete in time");
+        assertEquals(0, failedSubmissions.get());
+        assertEquals(tasks, endToEndHistogram.getTotalCount());
+    }
+
+    private boolean submit(HttpClient httpClient, URI submitUri, CountDownLatch completed) {
+        HttpRequest request = HttpRequest.newBuilder(submitUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load task\",\"payload\":\"Load payload\"}"))
+                .build();
+        long submitNanos = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            submitLatency.recordValue(System.nanoTime() - submitNanos);
+            if (response.statusCode() != 201) {
+                return false;
+            }
+            Long taskId = objectMapper.readTree(response.body()).get("id").asLong();
+            awaitCompletion(taskId, submitNanos, completed);
+            return true;
+        } catch (Exception exception) {
+            return false;
+        }
+    }
+
+    // Subscribes before reading the current status, so a task that completes in between is still counted once
+    private void awaitCompletion(Long taskId, long submitNanos, CountDownLatch completed) {
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable recordCompletion = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                endToEndLatency.recordValue(System.nanoTime() - submitNanos);
+                completed.countDown();
+            }
+        };
+        TaskStatusEventBus.Subscription[] subscription = new TaskStatusEventBus.Subscription[1];
+        subscription[0] = taskStatusEventBus.subscribe(taskId, 4, status -> {
+            if (status == TaskStatus.COMPLETED) {
+                recordCompletion.run();
+                subscription[0].cancel();
+            }
+        });
+        if (taskStatusCache.get(taskId).getStatus() == TaskStatus.COMPLETED) {
+            recordCompletion.run();
+            subscription[0].cancel();
+        }
+    }
+
+    private void writeReport(Histogram submitHistogram, Histogram endToEndHistogram, int failedSubmissions,
+                             long submittedNanos, long completedNanos, long incompleteTasks) throws Exception {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("timestamp", Instant.now().toString());
+        report.put("tasks", tasks);
+        report.put("concurrency", concurrency);
+        report.put("failedSubmissions", failedSubmissions);
+        report.put("incompleteTasks", incompleteTasks);
+        report.put("submitDurationMs", submittedNanos / NANOS_PER_MILLI);
+        report.put("completionDurationMs", completedNanos / NANOS_PER_MILLI);
+        report.put("submitThroughputPerSecond", submitHistogram.getTotalCount() * 1e9 / submittedNanos);
+        report.put("completedThroughputPerSecond", endToEndHistogram.getTotalCount() * 1e9 / completedNanos);
+        report.set("submitLatencyMs", latencySummary(submitHistogram));
+        report.set("endToEndLatencyMs", latencySummary(endToEndHistogram));
+
+        Path reportFile = Path.of(reportPath);
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        try (PrintStream distribution = new PrintStream(new File(reportPath.replaceFirst("\\.json$", "") + "-end-to-end.hgrm"))) {
+            endToEndHistogram.outputPercentileDistribution(distribution, NANOS_PER_MILLI);
+        }
+    }
+
+    private JsonNode latencySummary(Histogram histogram) {
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+        summary.put("p50", histogram.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        summary.put("p90", histogram.getValueAtPercentile(90) / NANOS_PER_MILLI);
+        summary.put("p99", histogram.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        summary.put("p999", histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+        summary.put("max", histogram.getMaxValue() / NANOS_PER_MILLI);
+        return summary;
+    }
+}
@@ -0,0 +1,102 @@
+package com.epam.AsyncDataPipeline.serializer;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskMessageSerializerTest {
+
+    private final TaskMessageSerializer serializer = new TaskMessageSerializer();
+    private final TaskMessageDeserializer deserializer = new TaskMessageDeserializer();
+
+    @Test
+    void testRoundTrip_InlinePayload() {
+        TaskMessage message = new TaskMessage(123456789L, "Résumé task", TaskStatus.PENDING, "Payload with ünïcode", false);
+
+        TaskMessage decoded = deserializer.deserialize("tasks", serializer.serialize("tasks", message));
+
+        assertEquals(123456789L, decoded.getId());
+        assertEquals("Résumé task", decoded.getName());
+        assertEquals(TaskStatus.PENDING, decoded.getStatus());
+        assertEquals("Payload with ünïcode", decoded.getPayload());
+        assertFalse(decoded.isPayloadByReference());
+    }
+
+    @Test
+    void testRoundTrip_PayloadByReference() {
+        TaskMessage message = new TaskMessage(42L, "Large task", TaskStatus.PENDING, null, true);
+
+        TaskMessage decoded = deserializer.deserialize("tasks", serializer.serialize("tasks", message));
+
+        assertEquals(42L, decoded.getId());
+        assertTrue(decoded.isPayloadByReference());
+        assertNull(decoded.getPayload());
+    }
+
+    @Test
+    void testRoundTrip_CreatedAt() {
+        Instant createdAt = Instant.parse("2025-03-01T10:15:30.123Z");
+        TaskMessage message = new TaskMessage(7L, "Task 7", TaskStatus.PENDING, "Payload 7", false, createdAt);
+
+        TaskMessage decoded = deserializer.deserialize("tasks", serializer.serialize("tasks", message));
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+    }
+
+    @Test
+    void testDeserialize_Version1WithoutCreatedAt() {
+        byte[] data = serializer.serialize("tasks", new TaskMessage(5L, "Task 5", TaskStatus.PENDING, "Payload 5", false));
+        // Version 1 is the version 2 layout without the trailing creation time
+        byte[] version1 = Arrays.copyOf(data, data.length - 1);
+        version1[0] = 1;
+
+        TaskMessage decoded = deserializer.deserialize("tasks", version1);
+
+        assertEquals(5L, decoded.getId());
+        assertEquals("Payload 5", decoded.getPayload());
+        assertNull(decoded.getCreatedAt());
+    }
+
+    @Test
+    void testSerialize_SmallerThanJson() throws Exception {
+        TaskMessage message = new TaskMessage(1000L, "Task 1000", TaskStatus.PENDING, "Payload for task 1000", false);
+
+        int binarySize = serializer.serialize("tasks", message).length;
+        int jsonSize = new ObjectMapper().writeValueAsBytes(message).length;
+
+        assertTrue(binarySize < jsonSize / 2, "binary " + binarySize + " bytes, json " + jsonSize + " bytes");
+    }
+
+    @Test
+    void testDeserialize_LegacyTaskIdString() {
+        TaskMessage decoded = deserializer.deserialize("tasks", "987".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(987L, decoded.getId());
+        assertEquals(TaskStatus.PENDING, decoded.getStatus());
+        assertTrue(decoded.isPayloadByReference());
+    }
+
+    @Test
+    void testDeserialize_UnsupportedVersion() {
+        byte[] data = serializer.serialize("tasks", new TaskMessage(1L, "Task", TaskStatus.PENDING, "Payload", false));
+        data[0] = TaskMessageSerializer.CURRENT_VERSION + 1;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("tasks", data));
+    }
+
+    @Test
+    void testDeserialize_Truncated() {
+        byte[] data = serializer.serialize("tasks", new TaskMessage(1L, "Task", TaskStatus.PENDING, "Payload", false));
+        byte[] truncated = Arrays.copyOf(data, data.length - 3);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("tasks", truncated));
+    }
+}
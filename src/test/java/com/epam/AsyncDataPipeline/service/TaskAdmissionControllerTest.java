@@ -0,0 +1,103 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.TaskSubmissionThrottledException;
+import com.epam.AsyncDataPipeline.service.impl.TaskAdmissionController;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatisticsEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAdmissionControllerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    @InjectMocks
+    private TaskAdmissionController taskAdmissionController;
+
+    @Mock
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Spy
+    private MeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskAdmissionController, "enabled", true);
+        ReflectionTestUtils.setField(taskAdmissionController, "initialLimit", 4);
+        ReflectionTestUtils.setField(taskAdmissionController, "minLimit", 2);
+        ReflectionTestUtils.setField(taskAdmissionController, "maxLimit", 100);
+        ReflectionTestUtils.setField(taskAdmissionController, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(taskAdmissionController, "targetLatencyMs", 500L);
+        ReflectionTestUtils.setField(taskAdmissionController, "maxPendingTasks", 1000L);
+        ReflectionTestUtils.setField(taskAdmissionController, "maxConsumerLag", 1000.0);
+        ReflectionTestUtils.setField(taskAdmissionController, "sampleIntervalMs", 0L);
+        taskAdmissionController.init();
+    }
+
+    @Test
+    void testAcquire_RefusesBeyondLimit() {
+        for (int i = 0; i < 4; i++) {
+            taskAdmissionController.acquire();
+        }
+
+        assertThrows(TaskSubmissionThrottledException.class, taskAdmissionController::acquire);
+        assertEquals(1.0, registry.get("tasks.admission.rejected").tag("reason", "limit").counter().count());
+    }
+
+    @Test
+    void testRelease_FastSubmissionsRaiseTheLimit() {
+        for (int round = 0; round < 40; round++) {
+            int admitted = (int) taskAdmissionController.getLimit();
+            for (int i = 0; i < admitted; i++) {
+                taskAdmissionController.acquire();
+            }
+            for (int i = 0; i < admitted; i++) {
+                taskAdmissionController.release(FAST, true);
+            }
+        }
+
+        // Grows by a fraction of one per round of submissions that used the limit
+        assertTrue(taskAdmissionController.getLimit() > 10, "limit " + taskAdmissionController.getLimit());
+        assertEquals(0, taskAdmissionController.getInFlight());
+    }
+
+    @Test
+    void testRelease_SlowOrFailedSubmissionHalvesTheLimit() {
+        taskAdmissionController.acquire();
+        taskAdmissionController.release(SLOW, true);
+        assertEquals(2.0, taskAdmissionController.getLimit());
+
+        taskAdmissionController.acquire();
+        taskAdmissionController.release(FAST, false);
+        assertEquals(2.0, taskAdmissionController.getLimit()); // Never below the minimum
+    }
+
+    @Test
+    void testSample_ShedsWhileBacklogged() {
+        when(taskStatisticsEngine.getCount(TaskStatus.PENDING)).thenReturn(5000L, 10L);
+
+        taskAdmissionController.sample();
+        assertThrows(TaskSubmissionThrottledException.class, taskAdmissionController::acquire);
+        assertEquals(1.0, registry.get("tasks.admission.rejected").tag("reason", "backlog").counter().count());
+        assertEquals(2.0, taskAdmissionController.getLimit());
+
+        // The backlog drained
+        taskAdmissionController.sample();
+        assertDoesNotThrow(taskAdmissionController::acquire);
+    }
+}
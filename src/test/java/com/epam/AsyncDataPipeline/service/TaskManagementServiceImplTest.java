@@ -2,27 +2,46 @@ package com.epam.AsyncDataPipeline.service;
 
 import com.epam.AsyncDataPipeline.dto.*;
 import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
 import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.InvalidCursorException;
+import com.epam.AsyncDataPipeline.exception.InvalidTaskIdsException;
 import com.epam.AsyncDataPipeline.exception.TaskNotFoundException;
 import com.epam.AsyncDataPipeline.exception.TaskProcessingException;
+import com.epam.AsyncDataPipeline.exception.TaskSubmissionThrottledException;
 import com.epam.AsyncDataPipeline.mapper.EntityToModelMapper;
 import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import com.epam.AsyncDataPipeline.service.impl.ScheduledTaskService;
+import com.epam.AsyncDataPipeline.service.impl.TaskCursorCodec;
 import com.epam.AsyncDataPipeline.service.impl.TaskManagementServiceImpl;
 import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import com.epam.AsyncDataPipeline.service.impl.TaskOutboxBacklog;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatisticsEngine;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,7 +56,13 @@ class TaskManagementServiceImplTest {
     private static TaskManagementRepository taskManagementRepository;
 
     @Mock
-    private static KafkaTemplate<String, String> kafkaTemplate;
+    private static TaskOutboxRepository taskOutboxRepository;
+
+    @Mock
+    private static TransactionTemplate transactionTemplate;
+
+    @Mock
+    private static TaskOutboxBacklog taskOutboxBacklog;
 
     @Mock
     private static EntityToModelMapper entityToModelMapper;
@@ -45,6 +70,24 @@ class TaskManagementServiceImplTest {
     @Mock
     private static TaskMetricsService taskMetricsService;
 
+    @Mock
+    private static TaskStatisticsEngine taskStatisticsEngine;
+
+    @Spy
+    private static TaskCursorCodec taskCursorCodec = new TaskCursorCodec();
+
+    @Spy
+    private static ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private static EntityManager entityManager;
+
+    @Mock
+    private static TaskStatusCache taskStatusCache;
+
+    @Mock
+    private static ScheduledTaskService scheduledTaskService;
+
     private static TaskManagement taskEntity;
     private static TaskManagementResponse taskResponse;
     private static TaskManagementStatusResponse taskManagementStatusResponse;
@@ -63,7 +106,7 @@ class TaskManagementServiceImplTest {
         taskEntity.setId(9L);
         taskEntity.setStatus(TaskStatus.PENDING);
 
-        ReflectionTestUtils.setField(taskManagementService, "topicName", "taskManagementTest2");
+        ReflectionTestUtils.setField(taskManagementService, "taskSubmissionExecutor", (Executor) Runnable::run);
 
         taskResponse = new TaskManagementResponse();
         taskResponse.setStatus(TaskStatus.PENDING);
@@ -79,6 +122,7 @@ class TaskManagementServiceImplTest {
 
     @Test
     void testSubmitTask_Success() throws Exception {
+        runTransactionCallbacks();
         when(entityToModelMapper.mapRequestToEntity(taskRequest)).thenReturn(taskEntity);
         when(taskManagementRepository.save(any(TaskManagement.class))).thenReturn(taskEntity);
 
@@ -88,12 +132,14 @@ class TaskManagementServiceImplTest {
         assertNotNull(response);
 
         verify(taskManagementRepository, times(1)).save(taskEntity);
-        verify(kafkaTemplate, times(1)).send(anyString(), anyString());
+        verify(taskOutboxRepository, times(1)).save(argThat(outboxEntry -> outboxEntry.getTaskId().equals(9L)));
         verify(taskMetricsService, times(1)).incrementTasksSubmitted();
+        verify(taskStatusCache, times(1)).put(9L, TaskStatus.PENDING); // First poll is a cache hit
     }
 
     @Test
     void testSubmitTask_DatabaseFailure() {
+        runTransactionCallbacks();
         when(entityToModelMapper.mapRequestToEntity(taskRequest)).thenReturn(taskEntity);
         when(taskManagementRepository.save(any(TaskManagement.class)))
                 .thenThrow(new TaskProcessingException("Database error occurred"));
@@ -105,11 +151,70 @@ class TaskManagementServiceImplTest {
         assertNotNull(exception.getMessage());
 
         verify(taskManagementRepository, times(1)).save(taskEntity);
-        verifyNoInteractions(kafkaTemplate);
+        verifyNoInteractions(taskOutboxRepository);
         verifyNoInteractions(taskMetricsService);
     }
 
 
+    @Test
+    void testSubmitTask_ThrottledWhileOutboxBacklogged() {
+        when(taskOutboxBacklog.isOverloaded()).thenReturn(true);
+
+        assertThrows(TaskSubmissionThrottledException.class, () -> taskManagementService.submitTask(taskRequest));
+
+        verifyNoInteractions(taskManagementRepository);
+        verifyNoInteractions(taskOutboxRepository);
+    }
+
+    @Test
+    void testSubmitTask_DelayedTaskIsScheduledWithoutOutboxEntry() throws Exception {
+        runTransactionCallbacks();
+        TaskManagementRequest delayedRequest = new TaskManagementRequest();
+        delayedRequest.setDelayMs(60_000L);
+        TaskManagement delayedTask = new TaskManagement("Task A", "Payload A", null);
+        delayedTask.setId(12L);
+        when(entityToModelMapper.mapRequestToEntity(delayedRequest)).thenReturn(delayedTask);
+        when(taskManagementRepository.save(delayedTask)).thenReturn(delayedTask);
+
+        Instant before = Instant.now();
+        taskManagementService.submitTask(delayedRequest).get();
+
+        assertEquals(TaskStatus.SCHEDULED, delayedTask.getStatus());
+        assertFalse(delayedTask.getDueAt().isBefore(before.plusMillis(60_000)));
+        verifyNoInteractions(taskOutboxRepository);
+        verify(scheduledTaskService, times(1)).schedule(12L, delayedTask.getDueAt());
+        verify(taskStatisticsEngine, times(1)).recordCreated(TaskStatus.SCHEDULED);
+        verify(taskStatusCache, times(1)).put(12L, TaskStatus.SCHEDULED);
+    }
+
+    @Test
+    void testSubmitTasks_Success() {
+        runTransactionCallbacks();
+        TaskManagement firstTask = new TaskManagement("Task A", "Payload A", TaskStatus.PENDING);
+        firstTask.setId(10L);
+        TaskManagement secondTask = new TaskManagement("Task B", "Payload B", TaskStatus.PENDING);
+        secondTask.setId(11L);
+        TaskManagementRequest firstRequest = new TaskManagementRequest();
+        TaskManagementRequest secondRequest = new TaskManagementRequest();
+
+        when(entityToModelMapper.mapRequestToEntity(firstRequest)).thenReturn(firstTask);
+        when(entityToModelMapper.mapRequestToEntity(secondRequest)).thenReturn(secondTask);
+        when(taskManagementRepository.saveAll(anyList())).thenReturn(List.of(firstTask, secondTask));
+
+        TaskBatchSubmissionResponse response = taskManagementService.submitTasks(List.of(firstRequest, secondRequest));
+
+        assertEquals(2, response.getSubmittedTasks());
+        assertEquals(2, response.getResults().size());
+        assertEquals(10L, response.getResults().get(0).getId());
+        assertEquals(TaskStatus.PENDING, response.getResults().get(1).getStatus());
+
+        verify(taskManagementRepository, times(1)).saveAll(anyList());
+        verify(taskOutboxRepository, times(1)).saveAll(argThat((List<TaskOutbox> outboxEntries) ->
+                outboxEntries.stream().map(TaskOutbox::getTaskId).toList().equals(List.of(10L, 11L))));
+        verify(taskMetricsService, times(1)).incrementTasksSubmitted(2);
+        verify(taskStatusCache, times(1)).putAll(List.of(10L, 11L), TaskStatus.PENDING);
+    }
+
     @Test
     void testGetAllTasks() {
         when(taskManagementRepository.findAll(pageable)).thenReturn(taskPage);
@@ -129,31 +234,106 @@ class TaskManagementServiceImplTest {
         verify(entityToModelMapper, times(1)).mapEntityToDto(taskEntity);
     }
 
+    @Test
+    void testGetTasksAfter_FollowsCursor() {
+        Sort.Order order = Sort.Order.asc("name");
+        when(taskManagementRepository.findBy(eq(ScrollPosition.keyset()), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(taskEntity), index -> ScrollPosition.forward(Map.of("name", "Task 9", "id", 9L)), true));
+        when(entityToModelMapper.mapEntityToDtoList(List.of(taskEntity))).thenReturn(List.of(taskResponse));
+
+        TaskCursorPageResponse firstPage = taskManagementService.getTasksAfter(null, 1, order);
+
+        assertTrue(firstPage.isHasNext());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(taskResponse), firstPage.getTasks());
+
+        when(taskManagementRepository.findBy(eq(ScrollPosition.forward(Map.of("name", "Task 9", "id", 9L))), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(Window.from(Collections.emptyList(), index -> ScrollPosition.keyset(), false));
+
+        TaskCursorPageResponse lastPage = taskManagementService.getTasksAfter(firstPage.getNextCursor(), 1, Sort.Order.asc("id"));
+
+        assertFalse(lastPage.isHasNext());
+        assertNull(lastPage.getNextCursor());
+        verify(taskManagementRepository, times(2)).findBy(any(), eq(Sort.by(order).and(Sort.by("id"))), eq(Limit.of(1)));
+        verify(taskManagementRepository, never()).count();
+    }
+
+    @Test
+    void testGetTasksAfter_InvalidCursor() {
+        InvalidCursorException exception = assertThrows(InvalidCursorException.class,
+                () -> taskManagementService.getTasksAfter("not-a-cursor", 10, Sort.Order.asc("id")));
+
+        assertEquals("Invalid cursor: 'not-a-cursor'", exception.getMessage());
+        verifyNoInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testExportTasks_WritesNdjsonAndDetaches() throws Exception {
+        TaskManagement secondEntity = new TaskManagement("Task B", "Payload B", TaskStatus.FAILED);
+        secondEntity.setId(10L);
+        TaskManagementResponse secondResponse = new TaskManagementResponse();
+        secondResponse.setId(10L);
+        secondResponse.setName("Task B");
+        secondResponse.setStatus(TaskStatus.FAILED);
+
+        when(taskManagementRepository.streamByIdBetweenOrderByIdAsc(0L, Long.MAX_VALUE))
+                .thenReturn(Stream.of(taskEntity, secondEntity));
+        when(entityToModelMapper.mapEntityToDto(taskEntity)).thenReturn(taskResponse);
+        when(entityToModelMapper.mapEntityToDto(secondEntity)).thenReturn(secondResponse);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exportedTasks = taskManagementService.exportTasks(null, null, null, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exportedTasks);
+        assertEquals(2, lines.length);
+        assertEquals("PENDING", objectMapper.readTree(lines[0]).get("status").asText());
+        assertEquals("Task B", objectMapper.readTree(lines[1]).get("name").asText());
+
+        verify(entityManager, times(1)).detach(taskEntity);
+        verify(entityManager, times(1)).detach(secondEntity);
+    }
+
     @Test
     void testGetTaskById_Success() {
-        when(taskManagementRepository.findById(9L)).thenReturn(Optional.of(taskEntity));
-        when(entityToModelMapper.mapEntityToStatusDto(any())).thenReturn(taskManagementStatusResponse);
+        when(taskStatusCache.get(9L)).thenReturn(taskManagementStatusResponse);
 
         TaskManagementStatusResponse response = taskManagementService.getTaskStatusById(9L);
 
         assertNotNull(response);
         assertEquals(taskManagementStatusResponse.getStatus(), response.getStatus());
 
-        verify(taskManagementRepository, times(1)).findById(9L);
-        verify(entityToModelMapper, times(1)).mapEntityToStatusDto(taskEntity);
+        verify(taskStatusCache, times(1)).get(9L);
+        verifyNoInteractions(taskManagementRepository); // Loaded by the cache only on a miss
     }
 
     @Test
     void testGetTaskById_NotFound() {
-        when(taskManagementRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskStatusCache.get(99L)).thenThrow(new TaskNotFoundException("Task with id 99 not found"));
 
         TaskNotFoundException exception = assertThrows(TaskNotFoundException.class,
                 () -> taskManagementService.getTaskStatusById(99L));
 
         assertEquals("Task with id 99 not found", exception.getMessage());
+    }
 
-        verify(taskManagementRepository, times(1)).findById(99L);
-        verifyNoMoreInteractions(taskManagementRepository);
+    @Test
+    void testGetTaskStatusesByIds_ReportsUnknownIds() {
+        when(taskStatusCache.getAll(List.of(9L, 99L, 9L))).thenReturn(Map.of(9L, taskManagementStatusResponse));
+
+        TaskStatusBatchResponse response = taskManagementService.getTaskStatusesByIds(List.of(9L, 99L, 9L));
+
+        assertEquals(taskManagementStatusResponse.getStatus(), response.getStatuses().get(9L).getStatus());
+        assertEquals(List.of(99L), response.getNotFoundIds());
+    }
+
+    @Test
+    void testGetTaskStatusesByIds_RejectsTooManyIds() {
+        List<Long> ids = Collections.nCopies(1001, 1L);
+
+        assertThrows(InvalidTaskIdsException.class, () -> taskManagementService.getTaskStatusesByIds(ids));
+        assertThrows(InvalidTaskIdsException.class, () -> taskManagementService.getTaskStatusesByIds(List.of()));
+        verifyNoInteractions(taskStatusCache);
     }
 
     @Test
@@ -161,49 +341,109 @@ class TaskManagementServiceImplTest {
         Long taskId = 9L;
         TaskStatus newStatus = TaskStatus.COMPLETED;
 
-        when(taskManagementRepository.findById(taskId)).thenReturn(Optional.of(taskEntity));
+        when(taskManagementRepository.finishByIdAndStatus(eq(taskId), eq(TaskStatus.PROCESSING), eq(newStatus), any(Instant.class))).thenReturn(1);
 
-        when(taskManagementRepository.save(any(TaskManagement.class))).thenReturn(taskEntity);
+        boolean updated = taskManagementService.updateTaskStatus(taskId, newStatus);
 
-        taskManagementService.updateTaskStatus(taskId, newStatus);
+        assertTrue(updated);
 
-        assertEquals(newStatus, taskEntity.getStatus());
+        // Single conditional update, no read
+        verify(taskManagementRepository, times(1)).finishByIdAndStatus(eq(taskId), eq(TaskStatus.PROCESSING), eq(newStatus), any(Instant.class));
+        verifyNoMoreInteractions(taskManagementRepository);
 
-        verify(taskManagementRepository, times(1)).findById(taskId);
-        verify(taskManagementRepository, times(1)).save(taskEntity);
+        verify(taskStatisticsEngine, times(1)).recordTransition(TaskStatus.PROCESSING, newStatus);
+        verify(taskMetricsService, times(1)).recordStatusChange(newStatus, 1);
+        verify(taskStatusCache, times(1)).put(taskId, newStatus); // Written through, not evicted
+    }
+
+    @Test
+    void testUpdateTaskStatus_RetryFromFailed() {
+        Long taskId = 9L;
+
+        when(taskManagementRepository.startByIdAndStatus(eq(taskId), eq(TaskStatus.PENDING), eq(TaskStatus.PROCESSING), any(Instant.class))).thenReturn(0);
+        when(taskManagementRepository.startByIdAndStatus(eq(taskId), eq(TaskStatus.FAILED), eq(TaskStatus.PROCESSING), any(Instant.class))).thenReturn(1);
+
+        assertTrue(taskManagementService.updateTaskStatus(taskId, TaskStatus.PROCESSING));
 
-        verify(taskMetricsService, times(1)).incrementTasksCompleted();
+        verify(taskStatisticsEngine, times(1)).recordTransition(TaskStatus.FAILED, TaskStatus.PROCESSING);
     }
 
     @Test
-    void testUpdateTaskStatus_TaskNotFound() {
+    void testUpdateTaskStatus_DuplicateTransitionRejected() {
         Long taskId = 9L;
-        TaskStatus newStatus = TaskStatus.PENDING;
+        TaskStatus newStatus = TaskStatus.COMPLETED;
 
-        when(taskManagementRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskManagementRepository.finishByIdAndStatus(eq(taskId), eq(TaskStatus.PROCESSING), eq(newStatus), any(Instant.class))).thenReturn(0);
 
-        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> {
-            taskManagementService.updateTaskStatus(taskId, newStatus);
-        });
+        boolean updated = taskManagementService.updateTaskStatus(taskId, newStatus);
 
-        assertEquals("Task with ID 9 not found", exception.getMessage());
+        assertFalse(updated);
 
-        verify(taskManagementRepository, times(1)).findById(taskId);
-        verifyNoMoreInteractions(taskManagementRepository); // Save should not be called
+        verify(taskManagementRepository, times(1)).finishByIdAndStatus(eq(taskId), eq(TaskStatus.PROCESSING), eq(newStatus), any(Instant.class));
+        verifyNoMoreInteractions(taskManagementRepository); // No findById to tell missing from rejected
+        verifyNoInteractions(taskStatisticsEngine);
+        verifyNoInteractions(taskMetricsService);
+        verifyNoInteractions(taskStatusCache);
     }
 
     @Test
-    void testGetTaskStatistics_Success() {
-        List<TaskManagement> tasks = List.of(
-                new TaskManagement("Task 1", "Payload 1", TaskStatus.COMPLETED),
-                new TaskManagement("Task 2", "Payload 2", TaskStatus.FAILED),
-                new TaskManagement("Task 3", "Payload 3", TaskStatus.PENDING),
-                new TaskManagement("Task 4", "Payload 4", TaskStatus.COMPLETED),
-                new TaskManagement("Task 5", "Payload 5", TaskStatus.COMPLETED)
-        );
+    void testUpdateTaskStatuses_InvalidTransition() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManagementService.updateTaskStatuses(List.of(9L), TaskStatus.COMPLETED, TaskStatus.PENDING));
+
+        verifyNoInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testUpdateTaskStatuses_SetBasedUpdateAndBulkWriteThrough() {
+        List<Long> ids = List.of(9L, 10L);
+
+        when(taskManagementRepository.finishByIdInAndStatus(eq(ids), eq(TaskStatus.PROCESSING), eq(TaskStatus.COMPLETED), any(Instant.class))).thenReturn(2);
+
+        int updatedTasks = taskManagementService.updateTaskStatuses(ids, TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+
+        assertEquals(2, updatedTasks);
+
+        verify(taskManagementRepository, times(1)).finishByIdInAndStatus(eq(ids), eq(TaskStatus.PROCESSING), eq(TaskStatus.COMPLETED), any(Instant.class));
+        verify(taskStatisticsEngine, times(1)).recordTransition(TaskStatus.PROCESSING, TaskStatus.COMPLETED, 2);
+        verify(taskMetricsService, times(1)).recordStatusChange(TaskStatus.COMPLETED, 2);
+        verify(taskStatusCache, times(1)).putAll(ids, TaskStatus.COMPLETED);
+        verifyNoMoreInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testStartTasks_ReportsOnlyTheTasksThatMoved() {
+        runTransactionCallbacks();
+        TaskManagement pendingTask = new TaskManagement("Task 9", "Payload", TaskStatus.PENDING);
+        pendingTask.setId(9L);
+        // Task 10 is locked by another consumer or no longer PENDING
+        when(taskManagementRepository.findByIdInAndStatus(List.of(9L, 10L), TaskStatus.PENDING)).thenReturn(List.of(pendingTask));
+
+        List<Long> startedIds = taskManagementService.startTasks(List.of(9L, 10L));
+
+        assertEquals(List.of(9L), startedIds);
+        verify(taskManagementRepository, times(1)).startByIdInAndStatus(eq(List.of(9L)), eq(TaskStatus.PENDING), eq(TaskStatus.PROCESSING), any(Instant.class));
+        verify(taskStatisticsEngine, times(1)).recordTransition(TaskStatus.PENDING, TaskStatus.PROCESSING, 1);
+        verify(taskStatusCache, times(1)).putAll(List.of(9L), TaskStatus.PROCESSING);
+    }
+
+    @Test
+    void testUpdateTaskStatuses_PartialUpdateEvicts() {
+        List<Long> ids = List.of(9L, 10L);
 
+        when(taskManagementRepository.finishByIdInAndStatus(eq(ids), eq(TaskStatus.PROCESSING), eq(TaskStatus.COMPLETED), any(Instant.class))).thenReturn(1);
 
-        when(taskManagementRepository.findAll()).thenReturn(tasks);
+        taskManagementService.updateTaskStatuses(ids, TaskStatus.PROCESSING, TaskStatus.COMPLETED);
+
+        // The statement does not tell which task was skipped
+        verify(taskStatusCache, times(1)).evictAll(ids);
+        verify(taskStatusCache, never()).putAll(anyCollection(), any());
+    }
+
+    @Test
+    void testGetTaskStatistics_Success() {
+        TaskStatisticsResponse statistics = new TaskStatisticsResponse(5, 3, 1, 60.0, 20.0);
+        when(taskStatisticsEngine.getStatistics()).thenReturn(statistics);
 
         TaskStatisticsResponse response = taskManagementService.getTaskStatistics();
 
@@ -214,9 +454,14 @@ class TaskManagementServiceImplTest {
         assertEquals(60.0, response.getSuccessRate());     // (3/5) * 100 = 60%
         assertEquals(20.0, response.getFailureRate());     // (1/5) * 100 = 20%
 
-        verify(taskManagementRepository, times(1)).findAll();
-
+        verifyNoInteractions(taskManagementRepository);    // No rows are loaded
     }
 
 
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
 }
@@ -0,0 +1,170 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.dto.TaskMessage;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.entity.TaskOutbox;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskDispatchProducer;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskOutboxRepository;
+import com.epam.AsyncDataPipeline.service.impl.TaskMetricsService;
+import com.epam.AsyncDataPipeline.service.impl.TaskOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskOutboxRelayTest {
+
+    @InjectMocks
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Mock
+    private TaskManagementRepository taskManagementRepository;
+
+    @Mock
+    private TaskManagementService taskManagementService;
+
+    @Mock
+    private TaskDispatchProducer taskDispatchProducer;
+
+    @Mock
+    private TaskMetricsService taskMetricsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(taskOutboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(taskOutboxRelay, "claimTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(taskOutboxRelay, "retryBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(taskOutboxRelay, "maxDispatchAgeMs", 300_000L);
+        ReflectionTestUtils.setField(taskOutboxRelay, "maxBatchesPerRun", 3);
+        ReflectionTestUtils.setField(taskOutboxRelay, "inlinePayloadMaxChars", 16);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testRelay_PublishesBatchAndDeletesAcknowledgedEntries() {
+        TaskOutbox firstEntry = outboxEntry(1L, 10L);
+        TaskOutbox secondEntry = outboxEntry(2L, 11L);
+        TaskOutbox thirdEntry = outboxEntry(3L, 12L);
+        when(taskOutboxRepository.findByAvailableAtLessThanEqualOrderByIdAsc(any(Instant.class), eq(Limit.of(2))))
+                .thenReturn(List.of(firstEntry, secondEntry))
+                .thenReturn(List.of(thirdEntry));
+        when(taskManagementRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(task(10L, "Payload"), task(11L, "Payload")));
+        when(taskManagementRepository.findAllById(List.of(12L))).thenReturn(List.of(task(12L, "A payload longer than the inline limit")));
+        when(taskDispatchProducer.send(any(TaskMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        taskOutboxRelay.relay();
+
+        // A full batch acknowledged entirely is followed immediately by the next one, each flushed once
+        verify(taskDispatchProducer, times(1)).send(argThat(message -> message.getId() == 10L && "Payload".equals(message.getPayload())));
+        verify(taskDispatchProducer, times(1)).send(argThat(message -> message.getId() == 12L && message.isPayloadByReference()
+                && message.getPayload() == null));
+        verify(taskDispatchProducer, times(3)).send(any(TaskMessage.class));
+        verify(taskDispatchProducer, times(2)).flush();
+        verify(taskMetricsService).recordDispatchBatchSize(2);
+        verify(taskMetricsService).recordDispatchBatchSize(1);
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(taskOutboxRepository, never()).deferByIdIn(anyCollection(), any());
+        verify(taskManagementService, never()).updateTaskStatuses(anyCollection(), any(), any());
+        // Claimed in the first transaction, so no other relay sends them while this one waits for Kafka
+        assertTrue(firstEntry.getAvailableAt().isAfter(Instant.now().plusSeconds(30)));
+    }
+
+    @Test
+    void testRelay_FailedSendIsDeferredThenMarkedFailedWhenTooOld() {
+        TaskOutbox sentEntry = outboxEntry(1L, 10L);
+        TaskOutbox deferredEntry = outboxEntry(2L, 11L);
+        TaskOutbox exhaustedEntry = outboxEntry(3L, 12L);
+        exhaustedEntry.setCreatedAt(Instant.now().minusSeconds(600));
+        ReflectionTestUtils.setField(taskOutboxRelay, "batchSize", 3);
+        when(taskOutboxRepository.findByAvailableAtLessThanEqualOrderByIdAsc(any(Instant.class), eq(Limit.of(3))))
+                .thenReturn(List.of(sentEntry, deferredEntry, exhaustedEntry));
+        when(taskManagementRepository.findAllById(List.of(10L, 11L, 12L)))
+                .thenReturn(List.of(task(10L, "Payload"), task(11L, "Payload"), task(12L, "Payload")));
+        when(taskDispatchProducer.send(argThat(message -> message != null && message.getId() == 10L)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(taskDispatchProducer.send(argThat(message -> message != null && message.getId() != 10L)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Send failed")));
+
+        taskOutboxRelay.relay();
+
+        verify(taskManagementService).updateTaskStatuses(List.of(12L), TaskStatus.PENDING, TaskStatus.FAILED);
+        verify(taskOutboxRepository).deferByIdIn(eq(List.of(2L)), argThat(availableAt -> availableAt.isAfter(Instant.now())));
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+
+        // The batch was full but not acknowledged, the relay backs off instead of claiming the next one
+        taskOutboxRelay.relay();
+        verify(taskOutboxRepository, times(1)).findByAvailableAtLessThanEqualOrderByIdAsc(any(Instant.class), any(Limit.class));
+    }
+
+    @Test
+    void testRelay_StopsAfterMaxBatchesPerRun() {
+        when(taskOutboxRepository.findByAvailableAtLessThanEqualOrderByIdAsc(any(Instant.class), eq(Limit.of(2))))
+                .thenAnswer(invocation -> List.of(outboxEntry(1L, 10L), outboxEntry(2L, 11L)));
+        when(taskManagementRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(task(10L, "Payload"), task(11L, "Payload")));
+        when(taskDispatchProducer.send(any(TaskMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // The outbox stays full, the relay yields the scheduler thread after three batches
+        taskOutboxRelay.relay();
+
+        verify(taskDispatchProducer, times(3)).flush();
+    }
+
+    @Test
+    void testRelay_DropsEntriesOfMissingTasks() {
+        TaskOutbox orphanedEntry = outboxEntry(4L, 13L);
+        when(taskOutboxRepository.findByAvailableAtLessThanEqualOrderByIdAsc(any(Instant.class), eq(Limit.of(2))))
+                .thenReturn(List.of(orphanedEntry));
+        when(taskManagementRepository.findAllById(List.of(13L))).thenReturn(List.of());
+
+        taskOutboxRelay.relay();
+
+        verify(taskDispatchProducer, never()).send(any(TaskMessage.class));
+        verify(taskOutboxRepository).deleteAllByIdInBatch(List.of(4L));
+    }
+
+    private static TaskOutbox outboxEntry(Long id, Long taskId) {
+        TaskOutbox outboxEntry = new TaskOutbox(taskId);
+        outboxEntry.setId(id);
+        return outboxEntry;
+    }
+
+    private static TaskManagement task(Long id, String payload) {
+        TaskManagement task = new TaskManagement("Task " + id, payload, TaskStatus.PENDING);
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,91 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.dto.TaskStatisticsResponse;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.repository.TaskStatusCount;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatisticsEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatisticsEngineTest {
+
+    @InjectMocks
+    private TaskStatisticsEngine taskStatisticsEngine;
+
+    @Mock
+    private TaskManagementRepository taskManagementRepository;
+
+    @Test
+    void testRecordTransitions() {
+        taskStatisticsEngine.recordCreated(TaskStatus.PENDING, 5);
+        taskStatisticsEngine.recordTransition(TaskStatus.PENDING, TaskStatus.PROCESSING, 4);
+        taskStatisticsEngine.recordTransition(TaskStatus.PROCESSING, TaskStatus.COMPLETED, 3);
+        taskStatisticsEngine.recordTransition(TaskStatus.PROCESSING, TaskStatus.FAILED);
+
+        TaskStatisticsResponse response = taskStatisticsEngine.getStatistics();
+
+        assertEquals(5, response.getTotalTasks());
+        assertEquals(3, response.getCompletedTasks());
+        assertEquals(1, response.getFailedTasks());
+        assertEquals(60.0, response.getSuccessRate());     // (3/5) * 100 = 60%
+        assertEquals(20.0, response.getFailureRate());     // (1/5) * 100 = 20%
+        assertEquals(1, taskStatisticsEngine.getCount(TaskStatus.PENDING));
+        assertEquals(0, taskStatisticsEngine.getCount(TaskStatus.PROCESSING));
+
+        verifyNoInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testReconcile_ReplacesCountsWithDatabaseCounts() {
+        taskStatisticsEngine.recordCreated(TaskStatus.PENDING, 10);
+
+        when(taskManagementRepository.countGroupByStatus()).thenReturn(List.of(
+                statusCount(TaskStatus.PENDING, 2),
+                statusCount(TaskStatus.COMPLETED, 7),
+                statusCount(TaskStatus.FAILED, 1)
+        ));
+
+        taskStatisticsEngine.reconcile();
+        TaskStatisticsResponse response = taskStatisticsEngine.getStatistics();
+
+        assertEquals(10, response.getTotalTasks());
+        assertEquals(2, taskStatisticsEngine.getCount(TaskStatus.PENDING));
+        assertEquals(7, response.getCompletedTasks());
+        assertEquals(1, response.getFailedTasks());
+
+        verify(taskManagementRepository, times(1)).countGroupByStatus();
+    }
+
+    @Test
+    void testGetStatistics_NoTasks() {
+        TaskStatisticsResponse response = taskStatisticsEngine.getStatistics();
+
+        assertEquals(0, response.getTotalTasks());
+        assertEquals(0.0, response.getSuccessRate());
+        assertEquals(0.0, response.getFailureRate());
+    }
+
+    private static TaskStatusCount statusCount(TaskStatus status, long count) {
+        return new TaskStatusCount() {
+            @Override
+            public TaskStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
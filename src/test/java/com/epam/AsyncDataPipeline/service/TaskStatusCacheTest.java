@@ -0,0 +1,246 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.config.TaskCacheProperties;
+import com.epam.AsyncDataPipeline.dto.TaskManagementStatusResponse;
+import com.epam.AsyncDataPipeline.entity.TaskManagement;
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.exception.TaskNotFoundException;
+import com.epam.AsyncDataPipeline.kakfaProducer.TaskCacheSyncProducer;
+import com.epam.AsyncDataPipeline.mapper.EntityToModelMapper;
+import com.epam.AsyncDataPipeline.repository.TaskIdStatus;
+import com.epam.AsyncDataPipeline.repository.TaskManagementRepository;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusCache;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCacheTest {
+
+    @InjectMocks
+    private TaskStatusCache taskStatusCache;
+
+    @Mock
+    private TaskManagementRepository taskManagementRepository;
+
+    @Mock
+    private EntityToModelMapper entityToModelMapper;
+
+    @Mock
+    private ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar;
+
+    @Mock
+    private ObjectProvider<TaskCacheSyncProducer> taskCacheSyncProducer;
+
+    @Mock
+    private TaskCacheSyncProducer cacheSyncProducer;
+
+    @Mock
+    private TaskStatusEventBus taskStatusEventBus;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+    private final ExecutorService lookupExecutor = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskStatusCache, "registry", registry);
+        ReflectionTestUtils.setField(taskStatusCache, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(taskStatusCache, "taskStatusLookupExecutor", lookupExecutor);
+        ReflectionTestUtils.setField(taskStatusCache, "taskCacheProperties", new TaskCacheProperties());
+        lenient().when(taskCacheSyncProducer.getIfAvailable()).thenReturn(cacheSyncProducer);
+        taskStatusCache.initCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    @Test
+    void testGet_ConcurrentLookupsShareOneLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        TaskManagement task = new TaskManagement("Task 1", "Payload 1", TaskStatus.PENDING);
+        when(taskManagementRepository.findById(1L)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return Optional.of(task);
+        });
+        when(entityToModelMapper.mapEntityToStatusDto(task)).thenReturn(statusResponse(TaskStatus.PENDING));
+
+        CompletableFuture<TaskManagementStatusResponse> first = CompletableFuture.supplyAsync(() -> taskStatusCache.get(1L));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskManagementStatusResponse> second = CompletableFuture.supplyAsync(() -> taskStatusCache.get(1L));
+        while (lookups("status", "coalesced") == 0) {
+            Thread.onSpinWait();
+        }
+        releaseLoad.countDown();
+
+        assertEquals(TaskStatus.PENDING, first.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(TaskStatus.PENDING, second.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(TaskStatus.PENDING, taskStatusCache.get(1L).getStatus());
+
+        verify(taskManagementRepository, times(1)).findById(1L);
+        assertEquals(1, lookups("status", "miss"));
+        assertEquals(1, lookups("status", "coalesced"));
+        assertEquals(1, lookups("status", "hit"));
+    }
+
+    @Test
+    void testGet_UnknownIdIsNegativelyCached() {
+        when(taskManagementRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskStatusCache.get(99L));
+        TaskNotFoundException exception = assertThrows(TaskNotFoundException.class, () -> taskStatusCache.get(99L));
+
+        assertEquals("Task with id 99 not found", exception.getMessage());
+        verify(taskManagementRepository, times(1)).findById(99L);
+        assertEquals(1, lookups("not-found", "hit"));
+    }
+
+    @Test
+    void testPut_ClearsNegativeEntryAndSkipsTheDatabase() {
+        when(taskManagementRepository.findById(5L)).thenReturn(Optional.empty());
+        assertThrows(TaskNotFoundException.class, () -> taskStatusCache.get(5L));
+
+        taskStatusCache.put(5L, TaskStatus.PENDING);
+
+        assertEquals(TaskStatus.PENDING, taskStatusCache.get(5L).getStatus());
+        verify(taskManagementRepository, times(1)).findById(5L);
+    }
+
+    @Test
+    void testPut_FollowsTheLifecycle() {
+        taskStatusCache.put(1L, TaskStatus.PENDING);
+        assertEquals(TaskStatus.PENDING, taskStatusCache.get(1L).getStatus());
+
+        taskStatusCache.put(1L, TaskStatus.PROCESSING);
+        taskStatusCache.put(1L, TaskStatus.COMPLETED);
+        assertEquals(TaskStatus.COMPLETED, taskStatusCache.get(1L).getStatus());
+
+        verifyNoInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testPut_LateWriteDoesNotRestoreAnOlderStatus() {
+        taskStatusCache.put(1L, TaskStatus.COMPLETED);
+
+        taskStatusCache.put(1L, TaskStatus.PROCESSING); // lost the race against COMPLETED
+
+        assertEquals(TaskStatus.COMPLETED, taskStatusCache.get(1L).getStatus());
+        verify(taskStatusEventBus).publish(1L, TaskStatus.COMPLETED);
+        verify(taskStatusEventBus, never()).publish(1L, TaskStatus.PROCESSING);
+    }
+
+    @Test
+    void testPutLocal_LaterStatusAppliedAfterALostUpdate() {
+        taskStatusCache.put(1L, TaskStatus.PENDING);
+
+        taskStatusCache.putLocal(1L, TaskStatus.COMPLETED); // the PROCESSING update never arrived
+
+        assertEquals(TaskStatus.COMPLETED, taskStatusCache.get(1L).getStatus());
+        verify(taskStatusEventBus).publish(1L, TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void testPutAll_AndEvictAll() {
+        taskStatusCache.putAll(List.of(1L, 2L), TaskStatus.PENDING);
+        assertEquals(TaskStatus.PENDING, taskStatusCache.get(2L).getStatus());
+
+        taskStatusCache.evictAll(List.of(1L, 2L));
+        assertNull(cacheManager.getCache("taskManagement").get(1L));
+        assertNull(cacheManager.getCache("taskManagement").get(2L));
+    }
+
+    @Test
+    void testGetAll_LoadsAllMissesWithOneQuery() {
+        taskStatusCache.put(1L, TaskStatus.COMPLETED);
+        when(taskManagementRepository.findStatusByIdIn(anyCollection()))
+                .thenReturn(List.of(taskIdStatus(2L, TaskStatus.PENDING), taskIdStatus(3L, TaskStatus.PROCESSING)));
+
+        Map<Long, TaskManagementStatusResponse> statuses = taskStatusCache.getAll(List.of(3L, 1L, 2L, 99L));
+
+        assertEquals(List.of(3L, 1L, 2L), List.copyOf(statuses.keySet()));
+        assertEquals(TaskStatus.COMPLETED, statuses.get(1L).getStatus());
+        assertEquals(TaskStatus.PROCESSING, statuses.get(3L).getStatus());
+        verify(taskManagementRepository, times(1)).findStatusByIdIn(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L, 3L, 99L))));
+        assertEquals(1, lookups("status", "hit"));
+        assertEquals(3, lookups("status", "miss"));
+
+        // Loaded statuses are cached and the unknown ID is negatively cached
+        assertEquals(3, taskStatusCache.getAll(List.of(1L, 2L, 3L, 99L)).size());
+        assertThrows(TaskNotFoundException.class, () -> taskStatusCache.get(99L));
+        verifyNoMoreInteractions(taskManagementRepository);
+    }
+
+    @Test
+    void testWrites_AreBroadcastButRemoteUpdatesAreNot() {
+        taskStatusCache.put(1L, TaskStatus.PENDING);
+        taskStatusCache.putAll(List.of(2L, 3L), TaskStatus.PROCESSING);
+        taskStatusCache.evictAll(List.of(3L));
+
+        verify(cacheSyncProducer).publish(1L, TaskStatus.PENDING);
+        verify(cacheSyncProducer).publishAll(List.of(2L, 3L), TaskStatus.PROCESSING);
+        verify(cacheSyncProducer).publishEvictions(List.of(3L));
+
+        taskStatusCache.putLocal(1L, TaskStatus.PROCESSING);
+        taskStatusCache.evictLocal(List.of(2L));
+
+        assertEquals(TaskStatus.PROCESSING, taskStatusCache.get(1L).getStatus());
+        assertNull(cacheManager.getCache("taskManagement").get(2L));
+        verifyNoMoreInteractions(cacheSyncProducer);
+    }
+
+    private double lookups(String cache, String result) {
+        return registry.get("tasks.status.cache.lookups").tag("cache", cache).tag("result", result).counter().count();
+    }
+
+    private static TaskIdStatus taskIdStatus(Long id, TaskStatus status) {
+        return new TaskIdStatus() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public TaskStatus getStatus() {
+                return status;
+            }
+        };
+    }
+
+    private static TaskManagementStatusResponse statusResponse(TaskStatus status) {
+        TaskManagementStatusResponse statusResponse = new TaskManagementStatusResponse();
+        statusResponse.setStatus(status);
+        return statusResponse;
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import com.epam.AsyncDataPipeline.service.impl.TaskStatusEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStatusEventBusTest {
+
+    private final TaskStatusEventBus taskStatusEventBus = new TaskStatusEventBus();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    // Deliveries run only when the test drains the executor, like a busy pool would
+    private final Queue<Runnable> scheduledDeliveries = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskStatusEventBus, "registry", registry);
+        ReflectionTestUtils.setField(taskStatusEventBus, "taskStatusEventExecutor", (Executor) scheduledDeliveries::add);
+        taskStatusEventBus.initMetrics();
+    }
+
+    @Test
+    void testPublish_DeliversInOrderWithOneScheduledDelivery() {
+        List<TaskStatus> received = new ArrayList<>();
+        taskStatusEventBus.subscribe(1L, 4, received::add);
+
+        taskStatusEventBus.publish(1L, TaskStatus.PENDING);
+        taskStatusEventBus.publish(1L, TaskStatus.PROCESSING);
+        taskStatusEventBus.publish(2L, TaskStatus.COMPLETED); // another task
+
+        assertEquals(1, scheduledDeliveries.size());
+        scheduledDeliveries.poll().run();
+        assertEquals(List.of(TaskStatus.PENDING, TaskStatus.PROCESSING), received);
+    }
+
+    @Test
+    void testPublish_FullBufferDropsTheOldestEvent() {
+        List<TaskStatus> received = new ArrayList<>();
+        taskStatusEventBus.subscribe(1L, 2, received::add);
+
+        taskStatusEventBus.publish(1L, TaskStatus.PENDING);
+        taskStatusEventBus.publish(1L, TaskStatus.PROCESSING);
+        taskStatusEventBus.publish(1L, TaskStatus.COMPLETED);
+        scheduledDeliveries.poll().run();
+
+        assertEquals(List.of(TaskStatus.PROCESSING, TaskStatus.COMPLETED), received);
+        assertEquals(1, registry.get("tasks.status.events.dropped").counter().count());
+    }
+
+    @Test
+    void testCancel_RemovesTheSubscriber() {
+        List<TaskStatus> received = new ArrayList<>();
+        TaskStatusEventBus.Subscription subscription = taskStatusEventBus.subscribe(1L, 4, received::add);
+        assertTrue(taskStatusEventBus.hasSubscribers(1L));
+        assertEquals(1, registry.get("tasks.status.subscribers").gauge().value());
+
+        subscription.cancel();
+        taskStatusEventBus.publish(1L, TaskStatus.PENDING);
+
+        assertFalse(taskStatusEventBus.hasSubscribers(1L));
+        assertEquals(0, taskStatusEventBus.getSubscriberCount());
+        assertTrue(scheduledDeliveries.isEmpty());
+        assertTrue(received.isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskStatusTest {
+
+    @Test
+    void testLifecycleTransitionsAllowed() {
+        assertTrue(TaskStatus.PENDING.canTransitionTo(TaskStatus.PROCESSING));
+        assertTrue(TaskStatus.PROCESSING.canTransitionTo(TaskStatus.COMPLETED));
+        assertTrue(TaskStatus.PROCESSING.canTransitionTo(TaskStatus.FAILED));
+        assertTrue(TaskStatus.PENDING.canTransitionTo(TaskStatus.FAILED));
+        assertTrue(TaskStatus.FAILED.canTransitionTo(TaskStatus.PROCESSING)); // Retry
+        assertTrue(TaskStatus.SCHEDULED.canTransitionTo(TaskStatus.PENDING)); // Release when due
+        assertTrue(TaskStatus.PROCESSING.canTransitionTo(TaskStatus.PENDING)); // Re-dispatch when abandoned
+    }
+
+    @Test
+    void testInvalidTransitionsRejected() {
+        assertFalse(TaskStatus.COMPLETED.canTransitionTo(TaskStatus.PROCESSING));
+        assertFalse(TaskStatus.COMPLETED.canTransitionTo(TaskStatus.FAILED));
+        assertFalse(TaskStatus.PENDING.canTransitionTo(TaskStatus.COMPLETED));
+        assertFalse(TaskStatus.PROCESSING.canTransitionTo(TaskStatus.PROCESSING));
+        assertFalse(TaskStatus.SCHEDULED.canTransitionTo(TaskStatus.PROCESSING)); // Only through the outbox
+        assertFalse(TaskStatus.PENDING.canTransitionTo(TaskStatus.SCHEDULED));
+    }
+
+    @Test
+    void testLaterStatusSupersedesAfterALostUpdate() {
+        assertTrue(TaskStatus.COMPLETED.supersedes(TaskStatus.PENDING)); // PROCESSING was lost
+        assertTrue(TaskStatus.FAILED.supersedes(TaskStatus.SCHEDULED));
+        assertTrue(TaskStatus.PROCESSING.supersedes(TaskStatus.FAILED)); // Retry
+        assertFalse(TaskStatus.PENDING.supersedes(TaskStatus.COMPLETED));
+        assertFalse(TaskStatus.PROCESSING.supersedes(TaskStatus.COMPLETED));
+        assertFalse(TaskStatus.COMPLETED.supersedes(TaskStatus.COMPLETED));
+    }
+}
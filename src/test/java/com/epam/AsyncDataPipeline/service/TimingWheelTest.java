@@ -0,0 +1,71 @@
+package com.epam.AsyncDataPipeline.service;
+
+import com.epam.AsyncDataPipeline.service.impl.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void testAdvance_ReleasesWithinOneTickOfDueTime() {
+        TimingWheel timingWheel = new TimingWheel(10, 8, START);
+        timingWheel.add(1L, START + 25);
+
+        List<Long> dueIds = new ArrayList<>();
+        timingWheel.advance(START + 24, dueIds::add);
+        assertTrue(dueIds.isEmpty()); // Never early
+
+        timingWheel.advance(START + 29, dueIds::add);
+        assertTrue(dueIds.isEmpty()); // The tick containing the due time has not ended yet
+
+        assertEquals(1, timingWheel.advance(START + 30, dueIds::add));
+        assertEquals(List.of(1L), dueIds);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void testAdd_AlreadyDueIsRefused() {
+        TimingWheel timingWheel = new TimingWheel(10, 8, START);
+
+        assertFalse(timingWheel.add(1L, START - 1));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesAcrossLevels() {
+        // 8 ticks of 10 ms per level: 80 ms, 640 ms and 5120 ms ranges, due times spread over three levels
+        TimingWheel timingWheel = new TimingWheel(10, 8, START);
+        Random random = new Random(42);
+        Map<Long, Long> dueTimes = new HashMap<>();
+        for (long id = 0; id < 2000; id++) {
+            long dueAtMs = START + 1 + random.nextInt(4000);
+            assertTrue(timingWheel.add(id, dueAtMs));
+            dueTimes.put(id, dueAtMs);
+        }
+        assertEquals(2000, timingWheel.size());
+
+        // Advance in uneven steps, every timer fires once, not before its due time and at most one tick late
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = START; now <= START + 4100; now += 7) {
+            long currentTime = now;
+            timingWheel.advance(now, id -> assertNull(firedAt.put(id, currentTime)));
+        }
+
+        assertEquals(2000, firedAt.size());
+        assertEquals(0, timingWheel.size());
+        for (Map.Entry<Long, Long> fired : firedAt.entrySet()) {
+            long dueAtMs = dueTimes.get(fired.getKey());
+            assertTrue(fired.getValue() >= dueAtMs, "timer " + fired.getKey() + " fired early");
+            assertTrue(fired.getValue() < dueAtMs + 10 + 7 + 10, "timer " + fired.getKey() + " fired late");
+        }
+    }
+}